@@ -33,6 +33,13 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Streamed bodies must not be buffered in memory by the caching wrappers
+        if (isStreamed(path)) {
+            log.info("[Request] {} {} (streamed, body not logged)", request.getMethod(), path);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
 
@@ -96,6 +103,13 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         log.info("===== REQUEST COMPLETE =====");
     }
 
+    private boolean isStreamed(String path) {
+        // Bulk book import uploads are spooled straight to disk; admin exports write rows as they are read;
+        // resized images are sent from the file (sendfile) after the request
+        return path.endsWith("/admin/books/import") || (path.contains("/admin/") && path.endsWith("/export"))
+                || path.contains("/images/");
+    }
+
     private boolean shouldLogHeader(String headerName) {
         String lower = headerName.toLowerCase();
         // Log relevant headers but skip sensitive ones
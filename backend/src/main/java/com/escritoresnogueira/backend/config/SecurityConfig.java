@@ -41,6 +41,7 @@ public class SecurityConfig {
                 "/health/**",    // Health checks
                 "/books/**",     // Endpoints públicos de livros
                 "/blog/**",      // Endpoints públicos de blog
+                "/search",       // Pesquisa pública
                 "/admin/**",     // Endpoints privados de admin
                 "/session/**",   // Endpoints de sessão
                 "/user/**"       // Endpoints de utilizador
@@ -71,6 +72,12 @@ public class SecurityConfig {
                 // PÚBLICO: Blog
                 .requestMatchers("/blog/**").permitAll()
                 
+                // PÚBLICO: Pesquisa (livros + blog)
+                .requestMatchers("/search").permitAll()
+
+                // PÚBLICO: Imagens redimensionadas (capas e blog)
+                .requestMatchers("/images/**").permitAll()
+                
                 // SESSION: Endpoints de sessão (validação feita no controller via session token)
                 .requestMatchers("/session/**").permitAll()
                 
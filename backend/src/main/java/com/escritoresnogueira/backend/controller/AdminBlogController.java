@@ -6,8 +6,14 @@ import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
 import main.java.com.escritoresnogueira.backend.repository.BlogCategoryRepository;
 import main.java.com.escritoresnogueira.backend.dto.AdminBlogPostDTO;
 import java.util.Optional;
+import main.java.com.escritoresnogueira.backend.service.BlogTextMetrics;
+import main.java.com.escritoresnogueira.backend.service.CacheInvalidationBus;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService;
+import main.java.com.escritoresnogueira.backend.service.JsonResponseCache;
+import main.java.com.escritoresnogueira.backend.service.SearchIndexService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -21,6 +27,21 @@ public class AdminBlogController {
     @Autowired
     private BlogCategoryRepository blogCategoryRepository;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     
     @PostMapping("/posts")
     public ResponseEntity<BlogPost> createPost(@RequestBody AdminBlogPostDTO dto) {
@@ -36,8 +57,11 @@ public class AdminBlogController {
                 .published(dto.getPublished() != null ? dto.getPublished() : false)
                 .categoryName(dto.getCategory())
                 .build();
+        BlogTextMetrics.apply(post);
 
-        BlogPost savedPost = blogPostRepository.save(post);
+        BlogPost savedPost = savePost(post);
+        searchIndexService.indexPost(savedPost);
+        onBlogChanged();
         return ResponseEntity.ok(savedPost);
     }
 
@@ -57,8 +81,11 @@ public class AdminBlogController {
                 if (dto.getCategory() != null && !dto.getCategory().trim().isEmpty()) {
                     existingPost.setCategoryName(dto.getCategory().trim());
                 }
+                BlogTextMetrics.apply(existingPost);
 
-                BlogPost updatedPost = blogPostRepository.save(existingPost);
+                BlogPost updatedPost = savePost(existingPost);
+                searchIndexService.indexPost(updatedPost);
+                onBlogChanged();
                 return ResponseEntity.ok(updatedPost);
             })
             .orElse(ResponseEntity.notFound().build());
@@ -67,7 +94,12 @@ public class AdminBlogController {
     @DeleteMapping("/posts/{id}")
     public ResponseEntity<Void> deletePost(@PathVariable Long id) {
         if (blogPostRepository.existsById(id)) {
-            blogPostRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(status -> {
+                blogPostRepository.deleteById(id);
+                cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BLOG, String.valueOf(id));
+            });
+            searchIndexService.removePost(id);
+            onBlogChanged();
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -76,7 +108,8 @@ public class AdminBlogController {
     
     @PostMapping("/categories")
     public ResponseEntity<BlogCategory> createCategory(@RequestBody BlogCategory category) {
-        BlogCategory savedCategory = blogCategoryRepository.save(category);
+        BlogCategory savedCategory = saveCategory(category);
+        onBlogChanged();
         return ResponseEntity.ok(savedCategory);
     }
 
@@ -87,7 +120,8 @@ public class AdminBlogController {
                 existing.setName(category.getName());
                 existing.setSlug(category.getSlug());
                 existing.setDescription(category.getDescription());
-                BlogCategory updated = blogCategoryRepository.save(existing);
+                BlogCategory updated = saveCategory(existing);
+                onBlogChanged();
                 return ResponseEntity.ok(updated);
             })
             .orElse(ResponseEntity.notFound().build());
@@ -96,9 +130,36 @@ public class AdminBlogController {
     @DeleteMapping("/categories/{id}")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
         if (blogCategoryRepository.existsById(id)) {
-            blogCategoryRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(status -> {
+                blogCategoryRepository.deleteById(id);
+                cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BLOG, CacheInvalidationBus.ALL);
+            });
+            onBlogChanged();
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    // Save and publish the invalidation to the other nodes in one transaction
+    private BlogPost savePost(BlogPost post) {
+        return transactionTemplate.execute(status -> {
+            BlogPost saved = blogPostRepository.save(post);
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BLOG, String.valueOf(saved.getId()));
+            return saved;
+        });
+    }
+
+    private BlogCategory saveCategory(BlogCategory category) {
+        return transactionTemplate.execute(status -> {
+            BlogCategory saved = blogCategoryRepository.save(category);
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BLOG, CacheInvalidationBus.ALL);
+            return saved;
+        });
+    }
+
+    // Drop cached public blog responses and bump the blog ETag version
+    private void onBlogChanged() {
+        jsonResponseCache.invalidatePrefix(BlogController.CACHE_PREFIX);
+        contentVersionService.bump(ContentVersionService.Area.BLOG);
+    }
+}
@@ -1,17 +1,23 @@
 package main.java.com.escritoresnogueira.backend.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import main.java.com.escritoresnogueira.backend.dto.BookCommentDTO;
+import main.java.com.escritoresnogueira.backend.service.AdminExportService;
 import main.java.com.escritoresnogueira.backend.service.BookCommentService;
+import main.java.com.escritoresnogueira.backend.service.DataFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +29,7 @@ import java.util.Map;
 public class AdminBookCommentController {
     
     private final BookCommentService bookCommentService;
+    private final AdminExportService adminExportService;
     
     /**
      * Get all pending comments
@@ -154,4 +161,19 @@ public class AdminBookCommentController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
+
+    /**
+     * Streaming export of all book comments
+     * GET /admin/books/comments/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public void exportComments(@RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.resolve(format, null);
+        log.info("📤 Admin: Exporting book comments as {}", exportFormat.getCode());
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("comments." + exportFormat.getCode()).build().toString());
+        adminExportService.exportComments(exportFormat, response.getOutputStream());
+    }
 }
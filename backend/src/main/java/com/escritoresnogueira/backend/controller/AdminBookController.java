@@ -2,14 +2,32 @@ package main.java.com.escritoresnogueira.backend.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import main.java.com.escritoresnogueira.backend.dto.AdminBookDTO;
+import main.java.com.escritoresnogueira.backend.dto.BookImportJobDTO;
 import main.java.com.escritoresnogueira.backend.model.Book;
 import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import main.java.com.escritoresnogueira.backend.service.AdminExportService;
+import main.java.com.escritoresnogueira.backend.service.BookCatalogService;
+import main.java.com.escritoresnogueira.backend.service.BookImportService;
+import main.java.com.escritoresnogueira.backend.service.BookViewCounterService;
+import main.java.com.escritoresnogueira.backend.service.CacheInvalidationBus;
+import main.java.com.escritoresnogueira.backend.service.DataFormat;
+import main.java.com.escritoresnogueira.backend.service.RelatedBooksService;
+import main.java.com.escritoresnogueira.backend.service.SearchIndexService;
+import main.java.com.escritoresnogueira.backend.service.StockReservationService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +38,15 @@ import java.util.stream.Collectors;
 public class AdminBookController {
 
     private final BookRepository bookRepository;
+    private final BookCatalogService bookCatalogService;
+    private final BookViewCounterService bookViewCounterService;
+    private final SearchIndexService searchIndexService;
+    private final RelatedBooksService relatedBooksService;
+    private final StockReservationService stockReservationService;
+    private final BookImportService bookImportService;
+    private final AdminExportService adminExportService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<AdminBookDTO>> getAllBooks() {
@@ -46,12 +73,15 @@ public class AdminBookController {
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<AdminBookDTO> createBook(@RequestBody AdminBookDTO bookDTO) {
+    public ResponseEntity<AdminBookDTO> createBook(@Valid @RequestBody AdminBookDTO bookDTO) {
         log.debug("[AdminBookController] POST /admin/books - Creating book: {}", bookDTO.getTitle());
         log.debug("[AdminBookController] Received DTO: {}", bookDTO);
         try {
             Book book = bookDTO.toEntity();
-            Book saved = bookRepository.save(book);
+            Book saved = saveAndPublish(book);
+            relatedBooksService.onBookSaved(saved);
+            bookCatalogService.onBookSaved(saved);
+            searchIndexService.indexBook(saved);
             log.info("[AdminBookController] Book created successfully: {} (ID: {})", saved.getTitle(), saved.getId());
             return ResponseEntity.ok(AdminBookDTO.fromEntity(saved));
         } catch (Exception e) {
@@ -72,7 +102,11 @@ public class AdminBookController {
                 bookDTO.updateEntity(existingBook);
                 
                 try {
-                    Book updatedBook = bookRepository.save(existingBook);
+                    Book updatedBook = saveAndPublish(existingBook);
+                    relatedBooksService.onBookSaved(updatedBook);
+                    bookCatalogService.onBookSaved(updatedBook);
+                    searchIndexService.indexBook(updatedBook);
+                    stockReservationService.refresh(id);
                     log.info("[AdminBookController] Book updated successfully: {} (ID: {})", updatedBook.getTitle(), id);
                     return ResponseEntity.ok(AdminBookDTO.fromEntity(updatedBook));
                 } catch (Exception e) {
@@ -91,7 +125,14 @@ public class AdminBookController {
         log.debug("[AdminBookController] DELETE /admin/books/{} - Deleting book", id);
         if (bookRepository.existsById(id)) {
             try {
-                bookRepository.deleteById(id);
+                transactionTemplate.executeWithoutResult(status -> {
+                    bookRepository.deleteById(id);
+                    cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BOOK, String.valueOf(id));
+                });
+                relatedBooksService.onBookDeleted(id);
+                bookCatalogService.onBookDeleted(id);
+                searchIndexService.removeBook(id);
+                stockReservationService.refresh(id);
                 log.info("[AdminBookController] Book deleted successfully (ID: {})", id);
                 return ResponseEntity.noContent().build();
             } catch (Exception e) {
@@ -109,7 +150,10 @@ public class AdminBookController {
         return bookRepository.findById(id)
             .map(book -> {
                 book.setActive(!book.isActive());
-                Book saved = bookRepository.save(book);
+                Book saved = saveAndPublish(book);
+                relatedBooksService.onBookSaved(saved);
+                bookCatalogService.onBookSaved(saved);
+                searchIndexService.indexBook(saved);
                 log.info("[AdminBookController] Book {} active status toggled to: {}", id, saved.isActive());
                 return ResponseEntity.ok(AdminBookDTO.fromEntity(saved));
             })
@@ -125,7 +169,10 @@ public class AdminBookController {
         return bookRepository.findById(id)
             .map(book -> {
                 book.setFeatured(!book.getFeatured());
-                Book saved = bookRepository.save(book);
+                Book saved = saveAndPublish(book);
+                relatedBooksService.onBookSaved(saved);
+                bookCatalogService.onBookSaved(saved);
+                searchIndexService.indexBook(saved);
                 log.info("[AdminBookController] Book {} featured status toggled to: {}", id, saved.getFeatured());
                 return ResponseEntity.ok(AdminBookDTO.fromEntity(saved));
             })
@@ -134,4 +181,60 @@ public class AdminBookController {
                 return ResponseEntity.notFound().build();
             });
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/view-metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Long>> getViewMetrics() {
+        return ResponseEntity.ok(bookViewCounterService.getMetrics());
+    }
+
+    /**
+     * Bulk import (CSV or NDJSON body, ?format=csv|ndjson or by Content-Type).
+     * Rows are upserted by ISBN/slug in the background; poll the returned job for progress.
+     */
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookImportJobDTO> importBooks(@RequestParam(required = false) String format,
+                                                        HttpServletRequest request) throws IOException {
+        DataFormat importFormat = DataFormat.resolve(format, request.getContentType());
+        log.debug("[AdminBookController] POST /admin/books/import - format {}", importFormat.getCode());
+        BookImportJobDTO job = bookImportService.submit(request.getInputStream(), importFormat);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping(value = "/import", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BookImportJobDTO>> getImportJobs() {
+        return ResponseEntity.ok(bookImportService.getJobs());
+    }
+
+    @GetMapping(value = "/import/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return bookImportService.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streaming export of all books
+     * GET /admin/books/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public void exportBooks(@RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.resolve(format, null);
+        log.debug("[AdminBookController] GET /admin/books/export - format {}", exportFormat.getCode());
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("books." + exportFormat.getCode()).build().toString());
+        adminExportService.exportBooks(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Save a book and publish its invalidation to the other nodes in one transaction
+     */
+    private Book saveAndPublish(Book book) {
+        return transactionTemplate.execute(status -> {
+            Book saved = bookRepository.save(book);
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BOOK, String.valueOf(saved.getId()));
+            return saved;
+        });
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import main.java.com.escritoresnogueira.backend.dto.BookCommentDTO;
 import main.java.com.escritoresnogueira.backend.dto.CommentActionDTO;
+import main.java.com.escritoresnogueira.backend.dto.CursorPage;
 import main.java.com.escritoresnogueira.backend.service.BookCommentService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,10 +33,29 @@ public class AdminCommentsController {
 
     private final BookCommentService bookCommentService;
 
+    /**
+     * Offset mode: ?page=0&size=20
+     * Keyset mode (no COUNT): ?cursor=&size=20, then pass the returned nextCursor
+     */
     @GetMapping("/pending")
     public ResponseEntity<Map<String, Object>> getPendingComments(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+
+        if (cursor != null) {
+            CursorPage<BookCommentDTO> comments = bookCommentService.getPendingComments(
+                    cursor, Math.min(Math.max(size, 1), 100));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", comments.data());
+            response.put("size", comments.size());
+            response.put("hasNext", comments.hasNext());
+            response.put("nextCursor", comments.nextCursor());
+
+            return ResponseEntity.ok(response);
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").ascending());
         Page<BookCommentDTO> comments = bookCommentService.getPendingComments(pageable);
@@ -0,0 +1,70 @@
+package main.java.com.escritoresnogueira.backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.model.Order;
+import main.java.com.escritoresnogueira.backend.service.AdminExportService;
+import main.java.com.escritoresnogueira.backend.service.DataFormat;
+import main.java.com.escritoresnogueira.backend.service.OrderService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/admin/orders")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AdminOrderController {
+
+    private final OrderService orderService;
+    private final AdminExportService adminExportService;
+
+    /**
+     * Mark an order as paid (updates sales counters and the bestseller leaderboard)
+     */
+    @PostMapping("/{id}/paid")
+    public ResponseEntity<Map<String, Object>> markPaid(@PathVariable Long id) {
+        log.info("💳 Admin: Marking order {} as paid", id);
+        return ResponseEntity.ok(toResponse(orderService.markPaid(id)));
+    }
+
+    /**
+     * Mark an order as refunded
+     */
+    @PostMapping("/{id}/refunded")
+    public ResponseEntity<Map<String, Object>> markRefunded(@PathVariable Long id) {
+        log.info("↩️ Admin: Marking order {} as refunded", id);
+        return ResponseEntity.ok(toResponse(orderService.markRefunded(id)));
+    }
+
+    /**
+     * Streaming export of all orders (with their lines)
+     * GET /admin/orders/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public void exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.resolve(format, null);
+        log.info("📤 Admin: Exporting orders as {}", exportFormat.getCode());
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + exportFormat.getCode()).build().toString());
+        adminExportService.exportOrders(exportFormat, response.getOutputStream());
+    }
+
+    private Map<String, Object> toResponse(Order order) {
+        return Map.of(
+                "success", true,
+                "id", order.getId(),
+                "orderNumber", order.getOrderNumber(),
+                "status", order.getStatus(),
+                "paymentStatus", order.getPaymentStatus()
+        );
+    }
+}
@@ -1,13 +1,19 @@
 package main.java.com.escritoresnogueira.backend.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import main.java.com.escritoresnogueira.backend.model.User;
 import main.java.com.escritoresnogueira.backend.repository.UserRepository;
+import main.java.com.escritoresnogueira.backend.service.AdminExportService;
 import main.java.com.escritoresnogueira.backend.service.AuthService;
+import main.java.com.escritoresnogueira.backend.service.DataFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +26,7 @@ public class AdminUserController {
 
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final AdminExportService adminExportService;
 
     /**
      * Get all users
@@ -113,4 +120,19 @@ public class AdminUserController {
         long count = userRepository.count();
         return ResponseEntity.ok(Map.of("count", count));
     }
+
+    /**
+     * Streaming export of all users (with their roles)
+     * GET /admin/users/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        DataFormat exportFormat = DataFormat.resolve(format, null);
+        log.info("📤 Admin: Exporting users as {}", exportFormat.getCode());
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users." + exportFormat.getCode()).build().toString());
+        adminExportService.exportUsers(exportFormat, response.getOutputStream());
+    }
 }
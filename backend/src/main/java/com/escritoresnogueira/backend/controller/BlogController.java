@@ -4,17 +4,29 @@ import main.java.com.escritoresnogueira.backend.model.BlogPost;
 import main.java.com.escritoresnogueira.backend.model.BlogCategory;
 import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
 import main.java.com.escritoresnogueira.backend.repository.BlogCategoryRepository;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostSummaryView;
+import main.java.com.escritoresnogueira.backend.dto.BlogPostSummaryDTO;
+import main.java.com.escritoresnogueira.backend.dto.CursorPage;
+import main.java.com.escritoresnogueira.backend.dto.PageCursor;
 import main.java.com.escritoresnogueira.backend.dto.PublicBlogPostDTO;
+import main.java.com.escritoresnogueira.backend.service.BlogTextMetrics;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService.Area;
+import main.java.com.escritoresnogueira.backend.service.JsonResponseCache;
+import main.java.com.escritoresnogueira.backend.service.JsonResponseCache.SerializedJson;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/blog")
@@ -27,98 +39,188 @@ public class BlogController {
     @Autowired
     private BlogCategoryRepository blogCategoryRepository;
 
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    // Chave partilhada com AdminBlogController para invalidar a cache
+    public static final String CACHE_PREFIX = "blog:";
+
     // Listar todos os posts (público) — devolve lista com o formato público
+    // Com ?cursor= usa paginação por keyset (sem COUNT) e devolve { data, hasNext, nextCursor }
+    // As respostas são serializadas uma vez e reutilizadas até a próxima alteração no admin
     @GetMapping("/posts")
-    public ResponseEntity<List<PublicBlogPostDTO>> getAllPosts(
+    public ResponseEntity<byte[]> getAllPosts(
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size
+        @RequestParam(defaultValue = "10") int size,
+        @RequestParam(required = false) String cursor,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<BlogPost> posts = blogPostRepository.findByPublishedTrue(pageable);
-        List<PublicBlogPostDTO> dtos = posts.getContent().stream().map(this::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        String key = CACHE_PREFIX + "posts:" + page + ":" + size + ":" + cursor;
+        if (contentVersionService.checkNotModified(webRequest, Area.BLOG, key)) {
+            return null;
+        }
+        SerializedJson json = jsonResponseCache.get(key, () -> loadPosts(page, size, cursor));
+        return JsonResponseCache.toResponse(json, acceptEncoding);
+    }
+
+    private Object loadPosts(int page, int size, String cursor) {
+        if (cursor != null) {
+            int pageSize = Math.min(Math.max(size, 1), 100);
+            PageCursor after = PageCursor.decode(cursor);
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            List<BlogPostSummaryView> rows = after == null
+                ? blogPostRepository.findPublishedSummariesFirstPage(limit)
+                : blogPostRepository.findPublishedSummariesBefore(after.createdAt(), after.id(), limit);
+            CursorPage<BlogPostSummaryDTO> posts = CursorPage.from(rows, pageSize, this::toSummary,
+                row -> new PageCursor(row.getCreatedAt(), row.getId()));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", posts.data());
+            response.put("size", posts.size());
+            response.put("hasNext", posts.hasNext());
+            response.put("nextCursor", posts.nextCursor());
+            return response;
+        }
+
+        return blogPostRepository.findPublishedSummaries(PageRequest.of(page, size)).stream()
+            .map(this::toSummary)
+            .collect(Collectors.toList());
     }
 
     // Ver post individual por slug (formato público)
     @GetMapping("/posts/{slug}")
-    public ResponseEntity<PublicBlogPostDTO> getPostBySlug(@PathVariable String slug) {
-        return blogPostRepository.findBySlug(slug)
-            .map(this::toDto)
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getPostBySlug(
+        @PathVariable String slug,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
+    ) {
+        String key = CACHE_PREFIX + "post:" + slug;
+        if (contentVersionService.checkNotModified(webRequest, Area.BLOG, key)) {
+            return null;
+        }
+        SerializedJson json = jsonResponseCache.get(key,
+            () -> blogPostRepository.findWithCategoryBySlug(slug).map(this::toDto).orElse(null));
+        if (json == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return JsonResponseCache.toResponse(json, acceptEncoding);
     }
 
     // Listar posts por categoria
     @GetMapping("/categories/{categorySlug}/posts")
-    public ResponseEntity<List<PublicBlogPostDTO>> getPostsByCategory(
+    public ResponseEntity<byte[]> getPostsByCategory(
         @PathVariable String categorySlug,
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "10") int size
+        @RequestParam(defaultValue = "10") int size,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
     ) {
-        return blogCategoryRepository.findBySlug(categorySlug)
-            .map(category -> {
-                Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-                Page<BlogPost> posts = blogPostRepository.findByCategory(category, pageable);
-                List<PublicBlogPostDTO> dtos = posts.getContent().stream().map(this::toDto).collect(Collectors.toList());
-                return ResponseEntity.ok(dtos);
-            })
-            .orElse(ResponseEntity.notFound().build());
+        String key = CACHE_PREFIX + "category:" + categorySlug + ":" + page + ":" + size;
+        if (contentVersionService.checkNotModified(webRequest, Area.BLOG, key)) {
+            return null;
+        }
+        SerializedJson json = jsonResponseCache.get(key, () -> blogCategoryRepository.findBySlug(categorySlug)
+            .map(category -> blogPostRepository.findSummariesByCategory(category, PageRequest.of(page, size)).stream()
+                .map(this::toSummary)
+                .collect(Collectors.toList()))
+            .orElse(null));
+        if (json == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return JsonResponseCache.toResponse(json, acceptEncoding);
     }
 
     // Listar todas as categorias de blog
     @GetMapping("/categories")
-    public ResponseEntity<List<BlogCategory>> getAllCategories() {
-        List<BlogCategory> categories = blogCategoryRepository.findAll();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllCategories(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
+    ) {
+        String key = CACHE_PREFIX + "categories";
+        if (contentVersionService.checkNotModified(webRequest, Area.BLOG, key)) {
+            return null;
+        }
+        SerializedJson json = jsonResponseCache.get(key, blogCategoryRepository::findAll);
+        return JsonResponseCache.toResponse(json, acceptEncoding);
     }
 
     // Posts em destaque
     @GetMapping("/posts/featured")
-    public ResponseEntity<List<PublicBlogPostDTO>> getFeaturedPosts() {
-        List<BlogPost> posts = blogPostRepository.findTop5ByOrderByCreatedAtDesc();
-        List<PublicBlogPostDTO> dtos = posts.stream().map(this::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<byte[]> getFeaturedPosts(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest webRequest
+    ) {
+        String key = CACHE_PREFIX + "featured";
+        if (contentVersionService.checkNotModified(webRequest, Area.BLOG, key)) {
+            return null;
+        }
+        SerializedJson json = jsonResponseCache.get(key, () -> blogPostRepository.findLatestSummaries(PageRequest.of(0, 5))
+            .stream()
+            .map(this::toSummary)
+            .collect(Collectors.toList()));
+        return JsonResponseCache.toResponse(json, acceptEncoding);
     }
 
-    // --- helper to convert entity -> public DTO ---
+    // --- helpers to convert entity / summary row -> public DTOs ---
     private PublicBlogPostDTO toDto(BlogPost post) {
         if (post == null) return null;
-        String categoryName = null;
-        if (post.getCategoryName() != null && !post.getCategoryName().trim().isEmpty()) {
-            categoryName = post.getCategoryName();
-        } else if (post.getCategory() != null) {
-            categoryName = post.getCategory().getName();
-        }
-
-        String date = null;
-        if (post.getCreatedAt() != null) {
-            date = post.getCreatedAt().toLocalDate().toString();
-        }
+        String categoryName = categoryName(post.getCategoryName(),
+            post.getCategory() != null ? post.getCategory().getName() : null);
+        String date = formatDate(post.getCreatedAt());
 
         String content = post.getContent() != null ? post.getContent() : "";
-        String readTime = estimateReadTime(content);
+        Integer readTimeMinutes = post.getReadTimeMinutes();
+        String excerpt = post.getPlainExcerpt();
+        if (readTimeMinutes == null) {
+            // Post not saved since the metrics columns were added
+            BlogTextMetrics.Metrics metrics = BlogTextMetrics.of(content, post.getExcerpt());
+            readTimeMinutes = metrics.readTimeMinutes();
+            excerpt = metrics.excerpt();
+        }
 
         return PublicBlogPostDTO.builder()
                 .id(post.getId())
                 .title(post.getTitle())
-                .excerpt(post.getExcerpt())
+                .excerpt(excerpt)
                 .content(content)
                 .author(post.getAuthor())
                 .date(date)
-                .readTime(readTime)
+                .readTime(readTimeMinutes + " min")
                 .category(categoryName)
                 .featured(post.isFeatured())
                 .image(post.getFeaturedImage())
                 .build();
     }
 
-    private String estimateReadTime(String htmlContent) {
-        // strip simple HTML tags
-        String text = htmlContent.replaceAll("<[^>]*>", " ").trim();
-        if (text.isEmpty()) return "1 min";
-        String[] words = text.split("\\s+");
-        int wordCount = words.length;
-        int minutes = Math.max(1, wordCount / 200);
-        return minutes + " min";
+    // Listing card: every field is a stored column, the content is never read
+    private BlogPostSummaryDTO toSummary(BlogPostSummaryView row) {
+        return BlogPostSummaryDTO.builder()
+                .id(row.getId())
+                .slug(row.getSlug())
+                .title(row.getTitle())
+                .excerpt(row.getPlainExcerpt() != null ? row.getPlainExcerpt() : row.getExcerpt())
+                .author(row.getAuthor())
+                .date(formatDate(row.getCreatedAt()))
+                .readTime((row.getReadTimeMinutes() != null ? row.getReadTimeMinutes() : 1) + " min")
+                .category(categoryName(row.getCategoryName(), row.getLegacyCategoryName()))
+                .featured(row.getFeatured())
+                .image(row.getFeaturedImage())
+                .build();
+    }
+
+    // Standalone category name, falling back to the legacy category relation
+    private static String categoryName(String categoryName, String legacyCategoryName) {
+        if (categoryName != null && !categoryName.trim().isEmpty()) {
+            return categoryName;
+        }
+        return legacyCategoryName;
+    }
+
+    private static String formatDate(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.toLocalDate().toString() : null;
     }
 }
\ No newline at end of file
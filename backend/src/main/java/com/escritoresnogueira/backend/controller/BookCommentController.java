@@ -4,7 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import main.java.com.escritoresnogueira.backend.dto.BookCommentDTO;
 import main.java.com.escritoresnogueira.backend.dto.CreateBookCommentDTO;
+import main.java.com.escritoresnogueira.backend.dto.CursorPage;
 import main.java.com.escritoresnogueira.backend.service.BookCommentService;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService.Area;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +15,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +28,7 @@ import java.util.Map;
 public class BookCommentController {
     
     private final BookCommentService bookCommentService;
+    private final ContentVersionService contentVersionService;
     
     /**
      * Submit a new comment for a book
@@ -69,12 +74,36 @@ public class BookCommentController {
     /**
      * Get approved comments for a book (public)
      * GET /books/{bookId}/comments?page=0&size=10
+     * Keyset mode (no COUNT, constant cost per page): GET /books/{bookId}/comments?cursor=&size=10
+     * then pass the returned nextCursor as cursor
      */
     @GetMapping("/{bookId}/comments")
     public ResponseEntity<Map<String, Object>> getApprovedComments(
             @PathVariable Long bookId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        
+        // Repeat visitors revalidate with If-None-Match and get a 304 without any query
+        String key = "comments:" + bookId + ":" + page + ":" + size + ":" + cursor;
+        if (contentVersionService.checkNotModified(webRequest, Area.COMMENTS, key)) {
+            return null;
+        }
+        
+        if (cursor != null) {
+            CursorPage<BookCommentDTO> comments = bookCommentService.getApprovedComments(
+                    bookId, cursor, Math.min(Math.max(size, 1), 100));
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", comments.data());
+            response.put("size", comments.size());
+            response.put("hasNext", comments.hasNext());
+            response.put("nextCursor", comments.nextCursor());
+            
+            return ResponseEntity.ok(response);
+        }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<BookCommentDTO> comments = bookCommentService.getApprovedComments(bookId, pageable);
@@ -1,13 +1,28 @@
 package main.java.com.escritoresnogueira.backend.controller;
 
+import main.java.com.escritoresnogueira.backend.dto.BookCardDTO;
 import main.java.com.escritoresnogueira.backend.dto.BookDTO;
-import main.java.com.escritoresnogueira.backend.model.Book;
-import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import main.java.com.escritoresnogueira.backend.dto.RatingSummaryDTO;
+import main.java.com.escritoresnogueira.backend.service.BestsellerService;
+import main.java.com.escritoresnogueira.backend.service.BookCatalogService;
+import main.java.com.escritoresnogueira.backend.service.BookViewCounterService;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService;
+import main.java.com.escritoresnogueira.backend.service.ContentVersionService.Area;
+import main.java.com.escritoresnogueira.backend.service.JsonResponseCache;
+import main.java.com.escritoresnogueira.backend.service.RatingSummaryService;
+import main.java.com.escritoresnogueira.backend.service.RelatedBooksService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -15,52 +30,165 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class BookController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private BookCatalogService bookCatalogService;
+
+    @Autowired
+    private BookViewCounterService bookViewCounterService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private RelatedBooksService relatedBooksService;
+
     @Autowired
-    private BookRepository bookRepository;
+    private BestsellerService bestsellerService;
 
+    @Autowired
+    private RatingSummaryService ratingSummaryService;
+
+    // Served from the in-memory catalog snapshot as pre-serialized JSON
+    // (no DB round trip and no per-request serialization).
+    // Conditional GETs (If-None-Match / If-Modified-Since) are answered with 304 first.
     @GetMapping
-    public ResponseEntity<List<BookDTO>> getAllBooks() {
-        List<Book> books = bookRepository.findByActiveTrue();
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(bookDTOs);
+    public ResponseEntity<byte[]> getAllBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if (contentVersionService.checkNotModified(webRequest, Area.CATALOG, "books")) {
+            return null;
+        }
+        return JsonResponseCache.toResponse(bookCatalogService.getActiveBooksJson(), acceptEncoding);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<BookDTO>> getFeaturedBooks() {
-        List<Book> books = bookRepository.findByFeaturedTrueAndActiveTrue();
-        List<BookDTO> bookDTOs = books.stream()
-                .map(BookDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(bookDTOs);
+    public ResponseEntity<byte[]> getFeaturedBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if (contentVersionService.checkNotModified(webRequest, Area.CATALOG, "featured")) {
+            return null;
+        }
+        return JsonResponseCache.toResponse(bookCatalogService.getFeaturedBooksJson(), acceptEncoding);
+    }
+
+    /**
+     * Filtered, sorted and paginated catalog query (served from the catalog snapshot)
+     * GET /books/search?q=&category=&promo=&featured=&language=&minPrice=&maxPrice=&sort=price&page=0&size=24
+     * sort: title | title-desc | price | price-desc | newest
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchBooks(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean promo,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "24") int size,
+            WebRequest webRequest) {
+
+        String key = "search:" + webRequest.getParameterMap().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + String.join(",", e.getValue()))
+                .collect(Collectors.joining("&"));
+        if (contentVersionService.checkNotModified(webRequest, Area.CATALOG, key)) {
+            return null;
+        }
+
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        BookCatalogService.SearchCriteria criteria = new BookCatalogService.SearchCriteria(
+                q, category, promo, featured, language, minPrice, maxPrice, sort);
+        Page<BookCardDTO> books = bookCatalogService.search(criteria, safePage, safeSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", books.getContent());
+        response.put("page", books.getNumber());
+        response.put("size", books.getSize());
+        response.put("totalElements", books.getTotalElements());
+        response.put("totalPages", books.getTotalPages());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Best-selling books of a time window, answered from the in-memory leaderboard
+     * GET /books/bestsellers?window=7d&limit=10
+     * window: 1d | 7d | 30d | all
+     */
+    @GetMapping("/bestsellers")
+    public ResponseEntity<List<BookCardDTO>> getBestsellers(
+            @RequestParam(defaultValue = "7d") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        BestsellerService.Window parsed = BestsellerService.Window.parse(window);
+        int safeLimit = Math.min(Math.max(limit, 1), BestsellerService.MAX_TOP);
+        return ResponseEntity.ok(bestsellerService.getBestsellers(parsed, safeLimit));
+    }
+
+    /**
+     * Related books from the precomputed similarity index
+     * GET /books/{id}/related?limit=6
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<BookCardDTO>> getRelatedBooks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit,
+            WebRequest webRequest) {
+        if (bookCatalogService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int safeLimit = Math.min(Math.max(limit, 1), RelatedBooksService.MAX_NEIGHBOURS);
+        String key = "related:" + id + ":" + safeLimit + ":" + Long.toHexString(relatedBooksService.getIndexVersion());
+        if (contentVersionService.checkNotModified(webRequest, Area.CATALOG, key)) {
+            return null;
+        }
+        return ResponseEntity.ok(relatedBooksService.getRelatedBooks(id, safeLimit));
+    }
+
+    /**
+     * Average rating and star distribution of a book (one primary-key read)
+     * GET /books/{id}/rating-summary
+     */
+    @GetMapping("/{id}/rating-summary")
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@PathVariable Long id, WebRequest webRequest) {
+        if (bookCatalogService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (contentVersionService.checkNotModified(webRequest, Area.COMMENTS, "rating:" + id)) {
+            return null;
+        }
+        return ResponseEntity.ok(ratingSummaryService.getSummary(id));
     }
 
     @GetMapping("/{identifier}")
-    public ResponseEntity<BookDTO> getBook(@PathVariable String identifier) {
-        // Try to parse as ID first
+    public ResponseEntity<BookDTO> getBook(@PathVariable String identifier, WebRequest webRequest) {
+        // Try to parse as ID first, otherwise treat as slug
+        Optional<BookDTO> book;
         try {
             Long id = Long.parseLong(identifier);
-            return bookRepository.findById(id)
-                .filter(Book::isActive)
-                .map(book -> {
-                    // Increment view count when book is accessed
-                    book.setViewCount(book.getViewCount() + 1);
-                    bookRepository.save(book);
-                    return ResponseEntity.ok(BookDTO.fromEntity(book));
-                })
-                .orElse(ResponseEntity.notFound().build());
+            book = bookCatalogService.findById(id);
         } catch (NumberFormatException e) {
-            // If not a number, treat as slug
-            return bookRepository.findBySlug(identifier)
-                .filter(Book::isActive)
-                .map(book -> {
-                    // Increment view count when book is accessed
-                    book.setViewCount(book.getViewCount() + 1);
-                    bookRepository.save(book);
-                    return ResponseEntity.ok(BookDTO.fromEntity(book));
-                })
-                .orElse(ResponseEntity.notFound().build());
+            book = bookCatalogService.findBySlug(identifier);
+        }
+
+        if (book.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        BookDTO dto = book.get();
+        // View counts are buffered and flushed in batches
+        bookViewCounterService.recordView(dto.getId());
+        if (contentVersionService.checkNotModified(webRequest, Area.CATALOG, "book:" + dto.getId())) {
+            return null;
         }
+        return ResponseEntity.ok(dto);
     }
 }
@@ -0,0 +1,100 @@
+package main.java.com.escritoresnogueira.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.service.ImageDerivativeService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Resized book covers and blog images
+ * GET /images/{width}/{path}?format=webp|jpeg
+ */
+@Slf4j
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    // Tomcat sends the file itself (sendfile) after the request when these attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Derivative names change with the original, so a URL's content never changes
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    @GetMapping("/{width}/{*path}")
+    public void getImage(@PathVariable int width,
+                         @PathVariable String path,
+                         @RequestParam(required = false) String format,
+                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ImageDerivativeService.OutputFormat outputFormat = ImageDerivativeService.OutputFormat.negotiate(format, accept);
+        Optional<ImageDerivativeService.Derivative> derivative;
+        try {
+            derivative = imageDerivativeService.getDerivative(path, width, outputFormat);
+        } catch (RejectedExecutionException e) {
+            log.warn("🖼️ Image render queue busy for {} at {}px", path, width);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        if (derivative.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        ImageDerivativeService.Derivative image = derivative.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ETAG, image.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (image.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setContentType(image.format().getContentType());
+        response.setContentLengthLong(image.size());
+        send(image, request, response);
+    }
+
+    /**
+     * Zero-copy transfer with Tomcat sendfile when the connector supports it,
+     * otherwise a channel copy into the response stream
+     */
+    private void send(ImageDerivativeService.Derivative image, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(image.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.size()) {
+                long sent = channel.transferTo(position, image.size() - position, out);
+                if (sent <= 0) break;
+                position += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package main.java.com.escritoresnogueira.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import main.java.com.escritoresnogueira.backend.dto.SearchResultDTO;
+import main.java.com.escritoresnogueira.backend.service.SearchIndexService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unified full-text search over books and blog posts (served from the in-memory index)
+ * GET /search?q=camilo&type=book&limit=20
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (type != null && !type.equals(SearchIndexService.TYPE_BOOK) && !type.equals(SearchIndexService.TYPE_POST)) {
+            throw new IllegalArgumentException("Tipo inválido: use 'book' ou 'post'");
+        }
+
+        List<SearchResultDTO> results = searchIndexService.search(q, type, Math.min(Math.max(limit, 1), MAX_LIMIT));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("query", q);
+        response.put("total", results.size());
+        response.put("data", results);
+
+        return ResponseEntity.ok(response);
+    }
+}
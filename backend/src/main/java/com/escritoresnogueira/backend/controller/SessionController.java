@@ -95,7 +95,7 @@ public class SessionController {
         // If not in body, get from current session
         if ((firebaseUid == null || firebaseUid.isBlank()) && sessionToken != null) {
             firebaseUid = sessionService.validateSession(sessionToken)
-                    .map(session -> session.getFirebaseUid())
+                    .map(UserSessionService.SessionPrincipal::firebaseUid)
                     .orElse(null);
         }
         
@@ -2,22 +2,25 @@ package main.java.com.escritoresnogueira.backend.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.CursorPage;
+import main.java.com.escritoresnogueira.backend.dto.PageCursor;
 import main.java.com.escritoresnogueira.backend.dto.UpdateProfileDTO;
 import main.java.com.escritoresnogueira.backend.dto.UserProfileDTO;
 import main.java.com.escritoresnogueira.backend.dto.UserStatsDTO;
 import main.java.com.escritoresnogueira.backend.model.Order;
 import main.java.com.escritoresnogueira.backend.model.User;
-import main.java.com.escritoresnogueira.backend.model.UserSession;
 import main.java.com.escritoresnogueira.backend.repository.OrderRepository;
 import main.java.com.escritoresnogueira.backend.repository.UserRepository;
 import main.java.com.escritoresnogueira.backend.service.UserSessionService;
+import main.java.com.escritoresnogueira.backend.service.UserSessionService.SessionPrincipal;
+import main.java.com.escritoresnogueira.backend.service.UserStatsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,6 +35,7 @@ public class UserController {
     private final UserSessionService sessionService;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final UserStatsService userStatsService;
     
     private static final String SESSION_HEADER = "X-Session-Token";
 
@@ -143,69 +147,62 @@ public class UserController {
     public ResponseEntity<?> getStats(
             @RequestHeader(value = SESSION_HEADER, required = false) String sessionToken) {
         
-        Optional<User> userOpt = getUserFromSession(sessionToken);
-        if (userOpt.isEmpty()) {
+        Optional<SessionPrincipal> principalOpt = sessionService.validateSession(sessionToken);
+        if (principalOpt.isEmpty()) {
             return ResponseEntity.status(401).body(Map.of(
                 "error", true,
                 "message", "Sessão inválida ou expirada"
             ));
         }
 
-        User user = userOpt.get();
-        
-        // Calculate user statistics
-        List<Order> userOrders = orderRepository.findByUserId(
-            user.getId(), 
-            PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "createdAt"))
-        ).getContent();
-        
-        int totalPurchases = userOrders.size();
-        BigDecimal totalSpent = userOrders.stream()
-                .filter(o -> o.getPaymentStatus() == Order.PaymentStatus.PAID)
-                .map(Order::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        int totalBooksOwned = userOrders.stream()
-                .filter(o -> o.getPaymentStatus() == Order.PaymentStatus.PAID)
-                .flatMap(o -> o.getItems().stream())
-                .mapToInt(item -> item.getQuantity())
-                .sum();
-        
-        // Cart items count (from frontend localStorage - we can't access it from backend)
-        // The frontend will need to track this separately
-        int cartItemsCount = 0;
+        Long userId = principalOpt.get().userId();
         
-        UserStatsDTO stats = UserStatsDTO.builder()
-                .cartItemsCount(cartItemsCount)
-                .totalPurchases(totalPurchases)
-                .totalSpent(totalSpent)
-                .totalBooksOwned(totalBooksOwned)
-                .build();
+        // Maintained on payment/refund; one primary-key read
+        UserStatsDTO stats = userStatsService.getStats(userId);
 
         return ResponseEntity.ok(stats);
     }
 
     /**
      * Get user's orders
+     * With ?cursor= uses keyset pagination (no COUNT) and returns { data, hasNext, nextCursor }
      */
     @GetMapping("/orders")
     public ResponseEntity<?> getOrders(
             @RequestHeader(value = SESSION_HEADER, required = false) String sessionToken,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         
-        Optional<User> userOpt = getUserFromSession(sessionToken);
-        if (userOpt.isEmpty()) {
+        Optional<SessionPrincipal> principalOpt = sessionService.validateSession(sessionToken);
+        if (principalOpt.isEmpty()) {
             return ResponseEntity.status(401).body(Map.of(
                 "error", true,
                 "message", "Sessão inválida ou expirada"
             ));
         }
 
-        User user = userOpt.get();
+        Long userId = principalOpt.get().userId();
+        
+        if (cursor != null) {
+            int pageSize = Math.min(Math.max(size, 1), 100);
+            PageCursor after = PageCursor.decode(cursor);
+            PageRequest limit = PageRequest.of(0, pageSize + 1);
+            List<Order> rows = after == null
+                    ? orderRepository.findByUserIdFirstPage(userId, limit)
+                    : orderRepository.findByUserIdBefore(userId, after.createdAt(), after.id(), limit);
+            CursorPage<Order> orders = CursorPage.from(rows, pageSize, order -> order);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", orders.data());
+            response.put("size", orders.size());
+            response.put("hasNext", orders.hasNext());
+            response.put("nextCursor", orders.nextCursor());
+            return ResponseEntity.ok(response);
+        }
         
         Page<Order> orders = orderRepository.findByUserId(
-            user.getId(),
+            userId,
             PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"))
         );
 
@@ -214,6 +211,8 @@ public class UserController {
 
     /**
      * Helper method to get user from session token
+     * The session is validated from the near-cache; the user row is read by id
+     * (only the profile endpoints need it)
      */
     private Optional<User> getUserFromSession(String sessionToken) {
         if (sessionToken == null || sessionToken.isBlank()) {
@@ -221,7 +220,7 @@ public class UserController {
         }
         
         return sessionService.validateSession(sessionToken)
-                .map(UserSession::getUser);
+                .flatMap(principal -> userRepository.findById(principal.userId()));
     }
     
     /**
@@ -1,11 +1,17 @@
 package main.java.com.escritoresnogueira.backend.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import main.java.com.escritoresnogueira.backend.model.Book;
+import main.java.com.escritoresnogueira.backend.service.SlugNormalizer;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -43,36 +49,61 @@ import java.util.List;
 public class AdminBookDTO {
     
     private Long id;
+
+    @Size(max = 255, message = "Slug demasiado longo")
     private String slug;
+
+    @NotBlank(message = "Título é obrigatório")
+    @Size(max = 255, message = "Título demasiado longo")
     private String title;
+
+    @NotBlank(message = "Autor é obrigatório")
+    @Size(max = 255, message = "Autor demasiado longo")
     private String author;
+
+    @Size(max = 100, message = "Categoria demasiado longa")
     private String category;
+
+    @NotNull(message = "Preço é obrigatório")
+    @DecimalMin(value = "0.00", message = "Preço não pode ser negativo")
     private BigDecimal price;
     
     @JsonProperty("oldPrice")
+    @DecimalMin(value = "0.00", message = "Preço antigo não pode ser negativo")
     private BigDecimal oldPrice;
     
+    @Size(max = 2000, message = "Descrição demasiado longa")
     private String description;
+
+    @Size(max = 255, message = "ISBN demasiado longo")
     private String isbn;
+
+    @Min(value = 0, message = "Número de páginas inválido")
     private Integer pages;
     
     @JsonProperty("year")
     private Integer year;
     
+    @Size(max = 255, message = "Idioma demasiado longo")
     private String language;
+
+    @Size(max = 255, message = "Editora demasiado longa")
     private String publisher;
+
     private Boolean featured;
     
     // Promo field - manually set, NOT calculated
     private Boolean promo;
     
     // Image URL
+    @Size(max = 255, message = "URL da imagem demasiado longo")
     private String image;
     
     // Sample pages as array
     private List<String> samplePages;
     
     // Additional admin fields
+    @Min(value = 0, message = "Stock não pode ser negativo")
     private Integer stock;
     private Boolean active;
     
@@ -80,22 +111,6 @@ public class AdminBookDTO {
      * Convert from Entity to DTO
      */
     public static AdminBookDTO fromEntity(Book book) {
-        List<String> samplePagesList = new ArrayList<>();
-        if (book.getSamplePages() != null && !book.getSamplePages().isEmpty()) {
-            String cleaned = book.getSamplePages()
-                .replace("[", "")
-                .replace("]", "")
-                .replace("\"", "")
-                .trim();
-            if (!cleaned.isEmpty()) {
-                for (String page : cleaned.split(",\\s*")) {
-                    if (!page.trim().isEmpty()) {
-                        samplePagesList.add(page.trim());
-                    }
-                }
-            }
-        }
-        
         return AdminBookDTO.builder()
                 .id(book.getId())
                 .slug(book.getSlug())
@@ -113,7 +128,7 @@ public class AdminBookDTO {
                 .featured(book.getFeatured())
                 .promo(book.getPromo() != null ? book.getPromo() : false)
                 .image(book.getCoverImage() != null ? book.getCoverImage() : book.getCoverUrl())
-                .samplePages(samplePagesList)
+                .samplePages(book.getSamplePages() != null ? new ArrayList<>(book.getSamplePages()) : new ArrayList<>())
                 .stock(book.getStock())
                 .active(book.isActive())
                 .build();
@@ -124,7 +139,7 @@ public class AdminBookDTO {
      */
     public Book toEntity() {
         return Book.builder()
-                .slug(this.slug)
+                .slug(canonicalSlug(this.slug != null && !this.slug.isBlank() ? this.slug : this.title))
                 .title(this.title)
                 .author(this.author)
                 .category(this.category != null ? this.category : "geral")
@@ -139,7 +154,7 @@ public class AdminBookDTO {
                 .featured(this.featured != null ? this.featured : false)
                 .promo(this.promo != null ? this.promo : false)
                 .coverImage(this.image)
-                .samplePages(this.samplePages != null ? convertListToJsonString(this.samplePages) : null)
+                .samplePages(this.samplePages != null ? new ArrayList<>(this.samplePages) : new ArrayList<>())
                 .stock(this.stock != null ? this.stock : 0)
                 .active(this.active != null ? this.active : true)
                 .build();
@@ -149,7 +164,7 @@ public class AdminBookDTO {
      * Update existing entity with DTO values
      */
     public void updateEntity(Book book) {
-        if (this.slug != null) book.setSlug(this.slug);
+        if (this.slug != null) book.setSlug(canonicalSlug(this.slug));
         if (this.title != null) book.setTitle(this.title);
         if (this.author != null) book.setAuthor(this.author);
         if (this.category != null) book.setCategory(this.category);
@@ -164,26 +179,20 @@ public class AdminBookDTO {
         if (this.featured != null) book.setFeatured(this.featured);
         if (this.promo != null) book.setPromo(this.promo);
         if (this.image != null) book.setCoverImage(this.image);
-        if (this.samplePages != null) book.setSamplePages(convertListToJsonString(this.samplePages));
+        if (this.samplePages != null) book.setSamplePages(new ArrayList<>(this.samplePages));
         if (this.stock != null) book.setStock(this.stock);
         if (this.active != null) book.setActive(this.active);
     }
-    
+
     /**
-     * Convert List<String> to JSON array string for storage
+     * Stored form of a slug; rejected (400) when nothing usable is left,
+     * e.g. "---" or only punctuation, since slug is NOT NULL
      */
-    private static String convertListToJsonString(List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return null;
-        }
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < list.size(); i++) {
-            sb.append("\"").append(list.get(i)).append("\"");
-            if (i < list.size() - 1) {
-                sb.append(", ");
-            }
+    private static String canonicalSlug(String slug) {
+        String canonical = SlugNormalizer.canonical(slug);
+        if (canonical == null) {
+            throw new IllegalArgumentException("Slug inválido: " + slug);
         }
-        sb.append("]");
-        return sb.toString();
+        return canonical;
     }
 }
@@ -0,0 +1,27 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Blog post card for the public listings; the content is only returned by
+ * GET /blog/posts/{slug} (PublicBlogPostDTO)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostSummaryDTO {
+    private Long id;
+    private String slug;
+    private String title;
+    private String excerpt;
+    private String author;
+    private String date; // yyyy-MM-dd
+    private String readTime; // e.g. "5 min"
+    private String category;
+    private Boolean featured;
+    private String image;
+}
@@ -0,0 +1,52 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Lightweight book for catalog listings (cards).
+ * The detail endpoint keeps returning the full BookDTO.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookCardDTO {
+
+    private Long id;
+    private String slug;
+    private String title;
+    private String author;
+    private String category; // shown as a badge on the cards
+    private BigDecimal price;
+    private BigDecimal oldPrice;
+    private String image;
+    private Boolean promo;
+    private Boolean featured;
+    private Double rating;
+
+    /**
+     * Card view of a full book DTO
+     */
+    public static BookCardDTO from(BookDTO book) {
+        if (book == null) return null;
+
+        return BookCardDTO.builder()
+                .id(book.getId())
+                .slug(book.getSlug())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .category(book.getCategory())
+                .price(book.getPrice())
+                .oldPrice(book.getOldPrice())
+                .image(book.getImage())
+                .promo(book.getPromo())
+                .featured(book.getFeatured())
+                .rating(book.getRating())
+                .build();
+    }
+}
@@ -38,13 +38,14 @@ public class BookDTO {
     private Boolean featured;
     private Boolean promo; // manually set field, NOT calculated
     private String image; // renamed from coverUrl/coverImage
-    private List<String> samplePages; // as array instead of JSON string
+    private List<String> samplePages; // as array; lists use BookCardDTO without it
     
     // Additional fields that might be useful
     private Integer stock;
     private Double rating;
     private Integer reviewCount;
-    private Integer viewCount;
+    // No view/sales counters: those columns are bumped with plain SQL that
+    // never reaches the catalog snapshot, so they would be frozen here
     private boolean active;
     
     /**
@@ -70,11 +71,10 @@ public class BookDTO {
                 .featured(book.getFeatured() != null ? book.getFeatured() : false)
                 .promo(book.getPromo() != null ? book.getPromo() : false)
                 .image(book.getCoverUrl() != null ? book.getCoverUrl() : book.getCoverImage())
-                .samplePages(book.getSamplePagesList())
+                .samplePages(book.getSamplePages() != null ? List.copyOf(book.getSamplePages()) : List.of())
                 .stock(book.getStock())
                 .rating(book.getRating())
                 .reviewCount(book.getReviewCount())
-                .viewCount(book.getViewCount())
                 .active(book.isActive())
                 .build();
     }
@@ -0,0 +1,46 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk book import (GET /admin/books/import/{jobId})
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportJobDTO {
+
+    private String id;
+    private String format; // csv | ndjson
+    private String status; // QUEUED | RUNNING | COMPLETED | FAILED
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    private long processed;
+    private long inserted;
+    private long updated;
+    private long failed;
+
+    // First rejected rows (capped), and whether more were left out
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    // Reason the whole job stopped (unreadable file), null otherwise
+    private String message;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,31 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import main.java.com.escritoresnogueira.backend.model.BaseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. No total count is computed;
+ * {@code hasNext} is derived by fetching one row more than the page size.
+ */
+public record CursorPage<T>(List<T> data, int size, boolean hasNext, String nextCursor) {
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}
+     */
+    public static <E extends BaseEntity, T> CursorPage<T> from(List<E> rows, int size, Function<E, T> mapper) {
+        return from(rows, size, mapper, PageCursor::of);
+    }
+
+    /**
+     * Same for rows that are not entities (projections), with their cursor given by cursorOf
+     */
+    public static <E, T> CursorPage<T> from(List<E> rows, int size, Function<E, T> mapper,
+                                            Function<E, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,44 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import main.java.com.escritoresnogueira.backend.model.BaseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the (createdAt, id) of the last row of a page.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static PageCursor of(BaseEntity entity) {
+        return new PageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token. Returns null for a blank token (first page).
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import main.java.com.escritoresnogueira.backend.model.BookRatingSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Average rating and 1-5 star distribution of a book's approved comments
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryDTO {
+
+    private Long bookId;
+    private long count;
+    private double average; // 0 when there are no ratings
+    private Map<Integer, Long> histogram; // stars -> number of ratings
+
+    public static RatingSummaryDTO fromEntity(BookRatingSummary summary) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(5, summary.getStars5());
+        histogram.put(4, summary.getStars4());
+        histogram.put(3, summary.getStars3());
+        histogram.put(2, summary.getStars2());
+        histogram.put(1, summary.getStars1());
+
+        return RatingSummaryDTO.builder()
+                .bookId(summary.getBookId())
+                .count(summary.getRatingCount())
+                .average(average(summary.getRatingSum(), summary.getRatingCount()))
+                .histogram(histogram)
+                .build();
+    }
+
+    /**
+     * Average rounded to two decimals
+     */
+    public static double average(long sum, long count) {
+        return count > 0 ? Math.round(sum * 100.0 / count) / 100.0 : 0;
+    }
+}
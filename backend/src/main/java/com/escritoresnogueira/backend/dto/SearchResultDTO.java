@@ -0,0 +1,26 @@
+package main.java.com.escritoresnogueira.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One ranked hit of the unified search (book or blog post)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String type; // "book" or "post"
+    private Long id;
+    private String slug;
+    private String title;
+    private String subtitle; // author for books, excerpt for posts
+    private String image;
+    private BigDecimal price; // books only
+    private double score;
+}
@@ -143,6 +143,31 @@ public class GlobalExceptionHandler {
                 .body(body);
     }
 
+    /**
+     * Handle InsufficientStockException (stock reservation/decrement)
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientStock(
+            InsufficientStockException ex, HttpServletRequest request) {
+        
+        log.warn("[GlobalExceptionHandler] Insufficient stock for {} {}: {}", 
+                request.getMethod(), request.getRequestURI(), ex.getMessage());
+        
+        Map<String, Object> body = createErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Insufficient stock",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        body.put("bookId", ex.getBookId());
+        body.put("available", ex.getAvailable());
+        
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Handle all other exceptions
      */
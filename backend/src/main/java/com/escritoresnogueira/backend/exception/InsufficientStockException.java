@@ -0,0 +1,30 @@
+package main.java.com.escritoresnogueira.backend.exception;
+
+/**
+ * Thrown when a reservation or a stock decrement asks for more units than are available
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long bookId;
+    private final int requested;
+    private final int available;
+
+    public InsufficientStockException(Long bookId, int requested, int available) {
+        super("Stock insuficiente para o livro " + bookId + ": pedido " + requested + ", disponível " + available);
+        this.bookId = bookId;
+        this.requested = requested;
+        this.available = available;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+}
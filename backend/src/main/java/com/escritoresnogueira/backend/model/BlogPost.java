@@ -3,6 +3,7 @@ package main.java.com.escritoresnogueira.backend.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -13,7 +14,9 @@ import java.util.Set;
 @Builder
 @EqualsAndHashCode(callSuper = false)
 @Entity
-@Table(name = "blog_posts")
+@Table(name = "blog_posts", indexes = {
+    @Index(name = "idx_blog_posts_published_created", columnList = "published, created_at, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class BlogPost extends BaseEntity {
@@ -29,6 +32,16 @@ public class BlogPost extends BaseEntity {
     
     @Column(columnDefinition = "TEXT")
     private String excerpt;
+
+    // Plain-text metrics computed when the post is saved (BlogTextMetrics)
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "read_time_minutes")
+    private Integer readTimeMinutes;
+
+    @Column(name = "plain_excerpt", columnDefinition = "TEXT")
+    private String plainExcerpt;
     
     @Column(name = "featured_image")
     private String featuredImage;
@@ -53,6 +66,7 @@ public class BlogPost extends BaseEntity {
     private boolean featured = false;
     
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
         name = "blog_post_tags",
         joinColumns = @JoinColumn(name = "post_id"),
@@ -62,6 +76,7 @@ public class BlogPost extends BaseEntity {
     private Set<BlogTag> tags = new HashSet<>();
     
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<BlogComment> comments = new ArrayList<>();
     
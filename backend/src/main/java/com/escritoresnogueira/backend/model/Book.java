@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import java.util.List;
 @EqualsAndHashCode(callSuper = false)
 @Entity
 @Table(name = "books")
+@BatchSize(size = 100) // books referenced by a page of order items are loaded in one query
 @NoArgsConstructor
 @AllArgsConstructor
 public class Book extends BaseEntity {
@@ -106,21 +108,9 @@ public class Book extends BaseEntity {
     @Builder.Default
     private Boolean promo = false;
     
-    // Sample pages for book preview (stored as JSON array string)
+    // Sample pages for book preview (JSON array column, parsed once on load)
+    @Convert(converter = StringListConverter.class)
     @Column(name = "sample_pages", length = 2000)
-    private String samplePages;
-    
-    // Helper method to get sample pages as list
-    @Transient
-    public List<String> getSamplePagesList() {
-        if (samplePages == null || samplePages.isEmpty()) {
-            return new ArrayList<>();
-        }
-        // Parse JSON array string like ["url1", "url2"]
-        String cleaned = samplePages.replace("[", "").replace("]", "").replace("\"", "");
-        if (cleaned.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return List.of(cleaned.split(",\\s*"));
-    }
-}
\ No newline at end of file
+    @Builder.Default
+    private List<String> samplePages = new ArrayList<>();
+}
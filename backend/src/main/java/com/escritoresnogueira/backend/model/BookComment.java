@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "book_comments")
+@Table(name = "book_comments", indexes = {
+    @Index(name = "idx_book_comments_book_status_created", columnList = "book_id, status, created_at, id"),
+    @Index(name = "idx_book_comments_status_created", columnList = "status, created_at, id")
+})
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = false)
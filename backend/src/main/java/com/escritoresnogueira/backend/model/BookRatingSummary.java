@@ -0,0 +1,43 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running rating aggregates of a book's approved comments.
+ * Maintained with SQL increments by the comment moderation actions.
+ */
+@Entity
+@Table(name = "book_rating_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRatingSummary {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+}
@@ -0,0 +1,41 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Daily sales rollup per book (units sold in paid orders on that day).
+ * Written with an upsert when an order is paid, read by the bestseller leaderboard.
+ */
+@Entity
+@Table(name = "book_sales_daily")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSalesDaily {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "day", nullable = false)
+        private LocalDate day;
+
+        @Column(name = "book_id", nullable = false)
+        private Long bookId;
+    }
+}
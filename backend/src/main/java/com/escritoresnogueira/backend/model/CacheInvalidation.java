@@ -0,0 +1,37 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox of cache invalidations, written in the same transaction as the change.
+ * Rows are inserted and polled with plain JDBC by the outbox transport; the
+ * entity only declares the table. Purged after a retention period.
+ */
+@Entity
+@Table(name = "cache_invalidations",
+        indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String topic;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    // Node that made the change (it has already updated its own caches)
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
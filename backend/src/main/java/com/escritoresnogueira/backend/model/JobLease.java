@@ -0,0 +1,30 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease of a scheduled job: the node named in owner may run the
+ * job until lease_until (database clock). Acquired and renewed with plain JDBC
+ * by JobLeaseService; the entity only declares the table.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 36)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
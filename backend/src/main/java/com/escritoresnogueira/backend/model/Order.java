@@ -2,13 +2,16 @@ package main.java.com.escritoresnogueira.backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = false)
@@ -27,7 +30,9 @@ public class Order extends BaseEntity {
     @JoinColumn(name = "user_id")
     private User user;
     
+    // Items of a page of orders are loaded together, not one query per order
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
     
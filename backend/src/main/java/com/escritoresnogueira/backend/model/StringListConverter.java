@@ -0,0 +1,52 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a list of strings as a JSON array in a text column.
+ * The column is parsed once when the entity is loaded, not on every access.
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> LIST_TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize list: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(MAPPER.readValue(column, LIST_TYPE));
+        } catch (JsonProcessingException e) {
+            // Legacy rows written before values were JSON-escaped
+            List<String> values = new ArrayList<>();
+            for (String value : column.replace("[", "").replace("]", "").replace("\"", "").split(",")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package main.java.com.escritoresnogueira.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Running purchase aggregates of a user's paid orders.
+ * Maintained with SQL increments when an order is paid or refunded.
+ */
+@Entity
+@Table(name = "user_stats_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStatsSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "paid_orders", nullable = false)
+    private long paidOrders;
+
+    @Column(name = "total_spent", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent;
+
+    @Column(name = "books_owned", nullable = false)
+    private long booksOwned;
+}
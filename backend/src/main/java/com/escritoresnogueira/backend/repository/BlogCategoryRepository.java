@@ -2,8 +2,10 @@ package main.java.com.escritoresnogueira.backend.repository;
 
 import main.java.com.escritoresnogueira.backend.model.BlogCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,7 @@ public interface BlogCategoryRepository extends JpaRepository<BlogCategory, Long
     List<BlogCategory> findByActiveTrue();
     
     Optional<BlogCategory> findByName(String name);
+
+    @Query("SELECT MAX(c.updatedAt) FROM BlogCategory c")
+    LocalDateTime findMaxUpdatedAt();
 }
@@ -4,24 +4,48 @@ import main.java.com.escritoresnogueira.backend.model.BlogCategory;
 import main.java.com.escritoresnogueira.backend.model.BlogPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+
+    // Listing columns only: the content TEXT is never read for a list
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.slug AS slug, p.title AS title, p.plainExcerpt AS plainExcerpt, " +
+            "p.excerpt AS excerpt, p.author AS author, p.createdAt AS createdAt, " +
+            "p.readTimeMinutes AS readTimeMinutes, p.categoryName AS categoryName, " +
+            "c.name AS legacyCategoryName, p.featured AS featured, p.featuredImage AS featuredImage " +
+            "FROM BlogPost p LEFT JOIN p.category c ";
     
     Optional<BlogPost> findBySlug(String slug);
+
+    // Public post view: the category is read by the DTO mapping, so join it up front
+    @EntityGraph(attributePaths = "category")
+    Optional<BlogPost> findWithCategoryBySlug(String slug);
     
     Page<BlogPost> findByCategory(BlogCategory category, Pageable pageable);
 
     List<BlogPost> findTop5ByOrderByCreatedAtDesc();
     
     Page<BlogPost> findByPublishedTrue(Pageable pageable);
+
+    List<BlogPost> findByPublishedTrue();
+
+    // Keyset pagination (newest first); pass PageRequest.of(0, size + 1) so no COUNT query runs
+    @Query("SELECT p FROM BlogPost p WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPost> findPublishedFirstPage(Pageable pageable);
+
+    @Query("SELECT p FROM BlogPost p WHERE p.published = true AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPost> findPublishedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     
     Page<BlogPost> findByPublishedTrueAndFeaturedTrue(Pageable pageable);
     
@@ -40,4 +64,46 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     List<BlogPost> findTop5ByPublishedTrueOrderByViewCountDesc();
     
     Long countByPublishedTrue();
+
+    @Query("SELECT MAX(p.updatedAt) FROM BlogPost p")
+    LocalDateTime findMaxUpdatedAt();
+
+    // ----- Summaries for the public listings -----
+
+    // Offset pages returned as plain lists: the listings never needed the total count
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummaryView> findPublishedSummaries(Pageable pageable);
+
+    // Keyset pagination as findPublishedFirstPage / findPublishedBefore
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummaryView> findPublishedSummariesFirstPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND (p.createdAt, p.id) < (:createdAt, :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummaryView> findPublishedSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.category = :category ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummaryView> findSummariesByCategory(@Param("category") BlogCategory category, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<BlogPostSummaryView> findLatestSummaries(Pageable pageable);
+
+    // ----- Text metrics backfill (posts saved before the metrics columns existed) -----
+
+    // Keyset blocks in id order, so no more than one block of contents is in memory;
+    // pass PageRequest.of(0, size)
+    @Query("SELECT p.id, p.content, p.excerpt FROM BlogPost p WHERE p.readTimeMinutes IS NULL AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Object[]> findWithoutTextMetrics(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Part of the blog content version, which the backfill moves without touching updatedAt
+    long countByReadTimeMinutesIsNull();
+
+    // Leaves updatedAt untouched: the post itself did not change
+    @Modifying
+    @Query("UPDATE BlogPost p SET p.wordCount = :wordCount, p.readTimeMinutes = :readTimeMinutes, " +
+           "p.plainExcerpt = :plainExcerpt WHERE p.id = :id")
+    void updateTextMetrics(@Param("id") Long id, @Param("wordCount") int wordCount,
+                           @Param("readTimeMinutes") int readTimeMinutes, @Param("plainExcerpt") String plainExcerpt);
 }
@@ -0,0 +1,35 @@
+package main.java.com.escritoresnogueira.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a blog post needed by the public listings (never the content).
+ * Filled by the summary queries of {@link BlogPostRepository}.
+ */
+public interface BlogPostSummaryView {
+
+    Long getId();
+
+    String getSlug();
+
+    String getTitle();
+
+    String getPlainExcerpt();
+
+    String getExcerpt();
+
+    String getAuthor();
+
+    LocalDateTime getCreatedAt();
+
+    Integer getReadTimeMinutes();
+
+    String getCategoryName();
+
+    // Name of the legacy category relation, used when categoryName is empty
+    String getLegacyCategoryName();
+
+    Boolean getFeatured();
+
+    String getFeaturedImage();
+}
@@ -1,12 +1,19 @@
 package main.java.com.escritoresnogueira.backend.repository;
 
+import jakarta.persistence.QueryHint;
 import main.java.com.escritoresnogueira.backend.model.BookComment;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookCommentRepository extends JpaRepository<BookComment, Long> {
@@ -16,14 +23,45 @@ public interface BookCommentRepository extends JpaRepository<BookComment, Long>
 
     Page<BookComment> findByBookId(Long bookId, Pageable pageable);
 
+    // Keyset pagination for a book's comments (newest first); pass PageRequest.of(0, size + 1)
+    @Query("SELECT c FROM BookComment c WHERE c.book.id = :bookId AND c.status = :status " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<BookComment> findByBookIdAndStatusFirstPage(@Param("bookId") Long bookId, @Param("status") String status, Pageable pageable);
+
+    @Query("SELECT c FROM BookComment c WHERE c.book.id = :bookId AND c.status = :status " +
+           "AND (c.createdAt, c.id) < (:createdAt, :id) ORDER BY c.createdAt DESC, c.id DESC")
+    List<BookComment> findByBookIdAndStatusBefore(@Param("bookId") Long bookId, @Param("status") String status,
+                                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                 Pageable pageable);
+
     // Status-based queries
     List<BookComment> findByStatus(String status);
 
     Page<BookComment> findByStatus(String status, Pageable pageable);
 
+    // Keyset pagination by status (oldest first, moderation queue order)
+    @Query("SELECT c FROM BookComment c WHERE c.status = :status ORDER BY c.createdAt ASC, c.id ASC")
+    List<BookComment> findByStatusFirstPage(@Param("status") String status, Pageable pageable);
+
+    @Query("SELECT c FROM BookComment c WHERE c.status = :status AND (c.createdAt, c.id) > (:createdAt, :id) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<BookComment> findByStatusAfter(@Param("status") String status, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+
     Long countByStatus(String status);
 
     Long countByBookIdAndStatus(Long bookId, String status);
 
     List<BookComment> findByBookIdAndStatusOrderByCreatedAtDesc(Long bookId, String status);
+
+    // Admin export: all comments in id order, fetched from the cursor in blocks; close the stream
+    @Query("SELECT c FROM BookComment c ORDER BY c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookComment> streamAllForExport();
+
+    @Query("SELECT MAX(c.updatedAt) FROM BookComment c")
+    LocalDateTime findMaxUpdatedAt();
 }
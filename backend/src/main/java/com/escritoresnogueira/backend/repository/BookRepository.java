@@ -1,23 +1,37 @@
 package main.java.com.escritoresnogueira.backend.repository;
 
+import jakarta.persistence.QueryHint;
 import main.java.com.escritoresnogueira.backend.model.Book;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     
-    @Query("SELECT b FROM Book b WHERE LOWER(b.slug) = LOWER(:slug)")
-    Optional<Book> findBySlug(@Param("slug") String slug);
-    
     List<Book> findByFeaturedTrueAndActiveTrue();
     
+    // Only read to build in-memory views (catalog, search, related), never modified:
+    // loaded read-only so Hibernate keeps no dirty-checking snapshots
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Book> findByActiveTrue();
     
     List<Book> findByCategoryAndActiveTrue(String category);
+
+    // Admin export: all books in id order, fetched from the cursor in blocks; close the stream
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllForExport();
+
+    @Query("SELECT MAX(b.updatedAt) FROM Book b")
+    LocalDateTime findMaxUpdatedAt();
 }
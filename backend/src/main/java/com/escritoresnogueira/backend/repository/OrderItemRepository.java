@@ -1,5 +1,6 @@
 package main.java.com.escritoresnogueira.backend.repository;
 
+import main.java.com.escritoresnogueira.backend.model.Order;
 import main.java.com.escritoresnogueira.backend.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +16,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     
     List<OrderItem> findByOrderId(Long orderId);
     
+    // (order id, book id, quantity, price) lines of a block of orders
+    @Query("SELECT oi.order.id, oi.book.id, oi.quantity, oi.price FROM OrderItem oi " +
+           "WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<Object[]> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT oi FROM OrderItem oi WHERE oi.book.id = :bookId")
     List<OrderItem> findByBookId(@Param("bookId") Long bookId);
     
@@ -25,4 +32,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
         @Param("startDate") LocalDateTime startDate, 
         @Param("endDate") LocalDateTime endDate
     );
+    
+    /**
+     * Number of orders in which each pair of books was bought together (first id < second id)
+     */
+    @Query("SELECT a.book.id, b.book.id, COUNT(DISTINCT a.order.id) FROM OrderItem a, OrderItem b " +
+           "WHERE a.order.id = b.order.id AND a.book.id < b.book.id " +
+           "AND a.order.paymentStatus = :status " +
+           "GROUP BY a.book.id, b.book.id")
+    List<Object[]> findCoPurchaseCounts(@Param("status") Order.PaymentStatus status);
 }
@@ -1,9 +1,11 @@
 package main.java.com.escritoresnogueira.backend.repository;
 
+import jakarta.persistence.LockModeType;
 import main.java.com.escritoresnogueira.backend.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,8 +18,23 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByOrderNumber(String orderNumber);
+
+    // Payment transitions: SELECT ... FOR UPDATE, so concurrent webhooks for one order
+    // queue on the row instead of both passing the status check
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
     
     Page<Order> findByUserId(Long userId, Pageable pageable);
+
+    // Keyset pagination of a user's orders (newest first); pass PageRequest.of(0, size + 1)
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId AND (o.createdAt, o.id) < (:createdAt, :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Pageable pageable);
     
     Page<Order> findByStatus(Order.OrderStatus status, Pageable pageable);
     
@@ -38,6 +55,13 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         @Param("date") LocalDateTime date
     );
     
+    // Admin export, keyset blocks in id order: scalar columns only, so the eager customer
+    // (and its roles) is not loaded order by order; pass PageRequest.of(0, size)
+    @Query("SELECT o.id, o.orderNumber, o.customerEmail, u.id, o.total, o.status, o.paymentStatus, " +
+           "o.paymentMethod, o.paymentId, o.shippingAddress, o.createdAt, o.updatedAt " +
+           "FROM Order o LEFT JOIN o.user u WHERE o.id > :afterId ORDER BY o.id")
+    List<Object[]> findExportBlock(@Param("afterId") Long afterId, Pageable pageable);
+
     Long countByStatus(Order.OrderStatus status);
     
     @Query("SELECT COUNT(o) FROM Order o WHERE o.paymentStatus = :status")
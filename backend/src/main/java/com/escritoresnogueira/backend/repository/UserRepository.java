@@ -1,9 +1,14 @@
 package main.java.com.escritoresnogueira.backend.repository;
 
 import main.java.com.escritoresnogueira.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +21,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByAuthProviderId(String authProviderId);
 
     boolean existsByAuthProviderId(String authProviderId);
+
+    // Admin export, keyset blocks in id order: scalar columns only, so the eager roles
+    // collection is not loaded user by user; pass PageRequest.of(0, size)
+    @Query("SELECT u.id, u.email, u.name, u.firstName, u.lastName, u.phone, u.address, u.postalCode, u.city, " +
+           "u.country, u.authProvider, u.active, u.enabled, u.lastLogin, u.createdAt FROM User u " +
+           "WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findExportBlock(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (user id, role) pairs of a block of users
+    @Query("SELECT u.id, r FROM User u JOIN u.roles r WHERE u.id IN :ids")
+    List<Object[]> findRolesByUserIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -31,14 +31,6 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     @Query("UPDATE UserSession s SET s.active = false WHERE s.firebaseUid = :firebaseUid")
     void deactivateAllSessionsByFirebaseUid(@Param("firebaseUid") String firebaseUid);
     
-    @Modifying
-    @Query("UPDATE UserSession s SET s.active = false WHERE s.expiresAt < :now")
-    void deactivateExpiredSessions(@Param("now") LocalDateTime now);
-    
-    @Modifying
-    @Query("DELETE FROM UserSession s WHERE s.active = false AND s.updatedAt < :cutoff")
-    void deleteInactiveSessions(@Param("cutoff") LocalDateTime cutoff);
-    
     @Modifying
     @Query("DELETE FROM UserSession s WHERE s.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
@@ -0,0 +1,9 @@
+package main.java.com.escritoresnogueira.backend.repository;
+
+import main.java.com.escritoresnogueira.backend.model.UserStatsSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatsSummaryRepository extends JpaRepository<UserStatsSummary, Long> {
+}
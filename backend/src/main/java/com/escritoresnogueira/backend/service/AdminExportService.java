@@ -0,0 +1,282 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.AdminBookDTO;
+import main.java.com.escritoresnogueira.backend.model.BookComment;
+import main.java.com.escritoresnogueira.backend.repository.BookCommentRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import main.java.com.escritoresnogueira.backend.repository.OrderItemRepository;
+import main.java.com.escritoresnogueira.backend.repository.OrderRepository;
+import main.java.com.escritoresnogueira.backend.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming admin exports of books, users, orders and comments as NDJSON or CSV.
+ *
+ * Rows are written straight to the response as they are read, inside one
+ * read-only transaction: NDJSON through a Jackson {@link JsonGenerator}, CSV
+ * through {@link CsvWriter}. Every {@link #BLOCK_SIZE} rows the output is
+ * flushed and the persistence context cleared, so memory stays flat however
+ * large the table is.
+ *
+ * Books and comments are read from a {@code Stream} over a database cursor
+ * (JDBC fetch size {@value #BLOCK_SIZE}). Users and orders need a second query
+ * per block (roles, order lines), which can't run while a cursor is open on
+ * CockroachDB, so they are read in keyset blocks of scalar columns instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminExportService {
+
+    // Rows per block; matches the fetch size of the export queries
+    static final int BLOCK_SIZE = 500;
+
+    // Same property names as AdminBookDTO, so an export can be fed back to the import
+    private static final List<Column<AdminBookDTO>> BOOK_COLUMNS = List.of(
+            new Column<>("id", AdminBookDTO::getId),
+            new Column<>("slug", AdminBookDTO::getSlug),
+            new Column<>("title", AdminBookDTO::getTitle),
+            new Column<>("author", AdminBookDTO::getAuthor),
+            new Column<>("category", AdminBookDTO::getCategory),
+            new Column<>("price", AdminBookDTO::getPrice),
+            new Column<>("oldPrice", AdminBookDTO::getOldPrice),
+            new Column<>("description", AdminBookDTO::getDescription),
+            new Column<>("isbn", AdminBookDTO::getIsbn),
+            new Column<>("pages", AdminBookDTO::getPages),
+            new Column<>("year", AdminBookDTO::getYear),
+            new Column<>("language", AdminBookDTO::getLanguage),
+            new Column<>("publisher", AdminBookDTO::getPublisher),
+            new Column<>("featured", AdminBookDTO::getFeatured),
+            new Column<>("promo", AdminBookDTO::getPromo),
+            new Column<>("image", AdminBookDTO::getImage),
+            new Column<>("samplePages", AdminBookDTO::getSamplePages),
+            new Column<>("stock", AdminBookDTO::getStock),
+            new Column<>("active", AdminBookDTO::getActive));
+
+    private static final List<Column<BookComment>> COMMENT_COLUMNS = List.of(
+            new Column<>("id", BookComment::getId),
+            new Column<>("bookId", comment -> comment.getBook().getId()),
+            new Column<>("authorName", BookComment::getAuthorName),
+            new Column<>("rating", BookComment::getRating),
+            new Column<>("title", BookComment::getTitle),
+            new Column<>("content", BookComment::getContent),
+            new Column<>("status", BookComment::getStatus),
+            new Column<>("helpfulCount", BookComment::getHelpfulCount),
+            new Column<>("approvedAt", BookComment::getApprovedAt),
+            new Column<>("createdAt", BookComment::getCreatedAt));
+
+    // Positions follow UserRepository.findExportBlock
+    private static final List<Column<ScalarRow>> USER_COLUMNS = List.of(
+            ScalarRow.column("id", 0), ScalarRow.column("email", 1), ScalarRow.column("name", 2),
+            ScalarRow.column("firstName", 3), ScalarRow.column("lastName", 4), ScalarRow.column("phone", 5),
+            ScalarRow.column("address", 6), ScalarRow.column("postalCode", 7), ScalarRow.column("city", 8),
+            ScalarRow.column("country", 9), ScalarRow.column("authProvider", 10),
+            new Column<>("roles", ScalarRow::children),
+            ScalarRow.column("active", 11), ScalarRow.column("enabled", 12),
+            ScalarRow.column("lastLogin", 13), ScalarRow.column("createdAt", 14));
+
+    // Positions follow OrderRepository.findExportBlock
+    private static final List<Column<ScalarRow>> ORDER_COLUMNS = List.of(
+            ScalarRow.column("id", 0), ScalarRow.column("orderNumber", 1), ScalarRow.column("customerEmail", 2),
+            ScalarRow.column("userId", 3), ScalarRow.column("total", 4), ScalarRow.column("status", 5),
+            ScalarRow.column("paymentStatus", 6), ScalarRow.column("paymentMethod", 7),
+            ScalarRow.column("paymentId", 8), ScalarRow.column("shippingAddress", 9),
+            new Column<>("items", ScalarRow::children),
+            ScalarRow.column("createdAt", 10), ScalarRow.column("updatedAt", 11));
+
+    private final BookRepository bookRepository;
+    private final BookCommentRepository bookCommentRepository;
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * One exported field: header/property name and how to read it from a row
+     */
+    private record Column<T>(String name, Function<T, Object> value) {}
+
+    /**
+     * Scalar columns of a user/order plus its roles/lines
+     */
+    private record ScalarRow(Object[] values, List<?> children) {
+
+        static Column<ScalarRow> column(String name, int index) {
+            return new Column<>(name, row -> row.values()[index]);
+        }
+    }
+
+    /**
+     * Order line; toString is the CSV form "bookId:quantity:price"
+     */
+    private record OrderLine(Long bookId, Integer quantity, BigDecimal price) {
+
+        @Override
+        public String toString() {
+            return bookId + ":" + quantity + ":" + (price != null ? price.toPlainString() : "");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBooks(DataFormat format, OutputStream out) throws IOException {
+        try (Stream<AdminBookDTO> books = bookRepository.streamAllForExport().map(AdminBookDTO::fromEntity)) {
+            return write(format, out, BOOK_COLUMNS, books.iterator());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportComments(DataFormat format, OutputStream out) throws IOException {
+        try (Stream<BookComment> comments = bookCommentRepository.streamAllForExport()) {
+            return write(format, out, COMMENT_COLUMNS, comments.iterator());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUsers(DataFormat format, OutputStream out) throws IOException {
+        return write(format, out, USER_COLUMNS, blocks(
+                userRepository::findExportBlock,
+                ids -> group(userRepository.findRolesByUserIds(ids), row -> (String) row[1])));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(DataFormat format, OutputStream out) throws IOException {
+        return write(format, out, ORDER_COLUMNS, blocks(
+                orderRepository::findExportBlock,
+                ids -> group(orderItemRepository.findLinesByOrderIds(ids),
+                        row -> new OrderLine((Long) row[1], (Integer) row[2], (BigDecimal) row[3]))));
+    }
+
+    // ----- Sources -----
+
+    /**
+     * Rows of keyset blocks (first value of each row is its id), with the
+     * children of each block loaded by one extra query
+     */
+    private Iterator<ScalarRow> blocks(BiFunction<Long, PageRequest, List<Object[]>> loadBlock,
+                                       Function<Collection<Long>, Map<Long, List<Object>>> loadChildren) {
+        return new Iterator<>() {
+            private Iterator<ScalarRow> current = List.<ScalarRow>of().iterator();
+            private long lastId = 0;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (!current.hasNext() && !exhausted) {
+                    List<Object[]> block = loadBlock.apply(lastId, PageRequest.of(0, BLOCK_SIZE));
+                    exhausted = block.size() < BLOCK_SIZE;
+                    if (!block.isEmpty()) {
+                        List<Long> ids = block.stream().map(row -> (Long) row[0]).toList();
+                        lastId = ids.get(ids.size() - 1);
+                        Map<Long, List<Object>> children = loadChildren.apply(ids);
+                        current = block.stream()
+                                .map(row -> new ScalarRow(row, children.getOrDefault((Long) row[0], List.of())))
+                                .iterator();
+                    }
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public ScalarRow next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Children rows (first value is the parent id) grouped by parent
+     */
+    private static Map<Long, List<Object>> group(List<Object[]> rows, Function<Object[], Object> child) {
+        Map<Long, List<Object>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            grouped.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(child.apply(row));
+        }
+        return grouped;
+    }
+
+    // ----- Writers -----
+
+    private <T> long write(DataFormat format, OutputStream out, List<Column<T>> columns, Iterator<T> rows)
+            throws IOException {
+        long count = 0;
+        if (format == DataFormat.CSV) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            CsvWriter csv = new CsvWriter(writer);
+            csv.writeRecord(columns.stream().map(Column::name).toList());
+            while (rows.hasNext()) {
+                T row = rows.next();
+                csv.writeRecord(columns.stream().map(column -> csvValue(column.value().apply(row))).toList());
+                if (++count % BLOCK_SIZE == 0) {
+                    csv.flush();
+                    entityManager.clear();
+                }
+            }
+            csv.flush();
+        } else {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                T row = rows.next();
+                json.writeStartObject();
+                for (Column<T> column : columns) {
+                    json.writeFieldName(column.name());
+                    json.writeObject(jsonValue(column.value().apply(row)));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++count % BLOCK_SIZE == 0) {
+                    json.flush();
+                    entityManager.clear();
+                }
+            }
+            json.flush();
+        }
+        log.info("📤 Exported {} rows as {}", count, format.getCode());
+        return count;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) return null;
+        if (value instanceof Collection<?> values) {
+            // Lists (sample pages, roles, order lines) share one column, "|"-separated like the import
+            return values.stream().map(String::valueOf).collect(Collectors.joining("|"));
+        }
+        if (value instanceof BigDecimal decimal) return decimal.toPlainString();
+        return value.toString();
+    }
+
+    private static Object jsonValue(Object value) {
+        // ISO-8601 strings rather than the mapper's default timestamp arrays
+        if (value instanceof Temporal) return value.toString();
+        if (value instanceof Enum<?> constant) return constant.name();
+        return value;
+    }
+}
@@ -0,0 +1,245 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.BookCardDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Best-seller leaderboard maintained incrementally.
+ *
+ * Sales are recorded when an order is paid (or refunded) into per-book
+ * all-time counters (books.sales_count) and daily rollups (book_sales_daily).
+ * The last {@link #MAX_DAYS} daily buckets and the all-time counters are kept
+ * in memory, and the ranked top list of each window is cached until the next
+ * sale, so a leaderboard request never scans order items.
+ *
+ * Sales and the swap of a reload are applied under the same monitor, and a
+ * reload whose read overlapped a sale reads again: the rows read may or may
+ * not include that sale, so neither keeping nor re-applying it would be safe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BestsellerService {
+
+    // Longest time window kept in daily buckets
+    public static final int MAX_DAYS = 30;
+
+    // Ranked entries cached per window (upper bound for the endpoint limit)
+    public static final int MAX_TOP = 50;
+
+    private static final String LOAD_DAILY_SQL =
+            "SELECT day, book_id, quantity FROM book_sales_daily WHERE day > ?";
+    private static final String LOAD_ALL_TIME_SQL =
+            "SELECT id, sales_count FROM books WHERE sales_count > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookCatalogService bookCatalogService;
+
+    private final ConcurrentSkipListMap<LocalDate, ConcurrentHashMap<Long, Long>> daily = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Long> allTime = new ConcurrentHashMap<>();
+    // Guarded by itself; generation changes whenever the cached rankings are dropped
+    private final Map<Window, Ranking> rankings = new EnumMap<>(Window.class);
+    private long generation;
+    private volatile boolean loaded;
+    // Sales recorded so far (guarded by this), checked by reloads around their read
+    private long sales;
+    // One reload at a time; sales do not wait for its database read
+    private final Object reloadLock = new Object();
+
+    /**
+     * Leaderboard windows: ?window=1d | 7d | 30d | all
+     */
+    public enum Window {
+        DAY("1d", 1), WEEK("7d", 7), MONTH("30d", MAX_DAYS), ALL("all", 0);
+
+        private final String code;
+        private final int days;
+
+        Window(String code, int days) {
+            this.code = code;
+            this.days = days;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static Window parse(String value) {
+            for (Window window : values()) {
+                if (window.code.equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Janela inválida: use 1d, 7d, 30d ou all");
+        }
+    }
+
+    /**
+     * Ranked book ids of a window, valid for the day it was computed on
+     */
+    private record Ranking(LocalDate day, List<Long> bookIds) {}
+
+    /**
+     * Best-selling active books of a window, best first
+     */
+    public List<BookCardDTO> getBestsellers(Window window, int limit) {
+        ensureLoaded();
+        return ranking(window).stream()
+                .map(bookCatalogService::findCardById)
+                .flatMap(Optional::stream)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Apply the units of a paid (positive) or refunded (negative) order.
+     * Call after the durable counters have been committed.
+     */
+    public void recordSale(LocalDate day, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+        synchronized (this) {
+            sales++;
+            if (!loaded) return; // the load in progress (or the first request) reads it
+            ConcurrentHashMap<Long, Long> bucket = daily.computeIfAbsent(day, d -> new ConcurrentHashMap<>());
+            quantities.forEach((bookId, quantity) -> {
+                bucket.merge(bookId, (long) quantity, Long::sum);
+                allTime.merge(bookId, (long) quantity, Long::sum);
+            });
+        }
+        invalidateRankings();
+    }
+
+    /**
+     * Reload buckets and counters from the database (also picks up sales
+     * recorded by other nodes) and drop buckets older than the longest window
+     */
+    @Scheduled(fixedDelayString = "${books.bestsellers.reload-interval-ms:300000}",
+            initialDelayString = "${books.bestsellers.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        if (loaded) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        synchronized (reloadLock) {
+            while (true) {
+                long seen;
+                synchronized (this) {
+                    seen = sales;
+                }
+                LocalDate oldest = LocalDate.now().minusDays(MAX_DAYS);
+
+                Map<LocalDate, ConcurrentHashMap<Long, Long>> buckets = new HashMap<>();
+                jdbcTemplate.query(LOAD_DAILY_SQL, rs -> {
+                    buckets.computeIfAbsent(rs.getDate("day").toLocalDate(), d -> new ConcurrentHashMap<>())
+                            .put(rs.getLong("book_id"), rs.getLong("quantity"));
+                }, Date.valueOf(oldest));
+
+                Map<Long, Long> counters = new HashMap<>();
+                jdbcTemplate.query(LOAD_ALL_TIME_SQL, rs -> {
+                    counters.put(rs.getLong("id"), rs.getLong("sales_count"));
+                });
+
+                synchronized (this) {
+                    if (sales != seen) {
+                        log.debug("🏆 Sale recorded while loading bestsellers, reloading");
+                        continue;
+                    }
+                    daily.clear();
+                    daily.putAll(buckets);
+                    allTime.clear();
+                    allTime.putAll(counters);
+                    loaded = true;
+                }
+                invalidateRankings();
+                log.info("🏆 Bestsellers loaded: {} daily buckets, {} books with sales", buckets.size(), counters.size());
+                return;
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (reloadLock) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private void invalidateRankings() {
+        synchronized (rankings) {
+            rankings.clear();
+            generation++;
+        }
+    }
+
+    private List<Long> ranking(Window window) {
+        LocalDate today = LocalDate.now();
+        long computedFor;
+        synchronized (rankings) {
+            Ranking cached = rankings.get(window);
+            if (cached != null && cached.day().equals(today)) {
+                return cached.bookIds();
+            }
+            computedFor = generation;
+        }
+
+        List<Long> ranked = rank(totals(window, today));
+        synchronized (rankings) {
+            // Don't cache a ranking that a concurrent sale already made stale
+            if (generation == computedFor) {
+                rankings.put(window, new Ranking(today, ranked));
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Units per book in the window (sum of at most MAX_DAYS buckets)
+     */
+    private Map<Long, Long> totals(Window window, LocalDate today) {
+        if (window == Window.ALL) {
+            return allTime;
+        }
+        Map<Long, Long> totals = new HashMap<>();
+        LocalDate from = today.minusDays(window.days - 1L);
+        for (Map<Long, Long> bucket : daily.subMap(from, true, today, true).values()) {
+            bucket.forEach((bookId, quantity) -> totals.merge(bookId, quantity, Long::sum));
+        }
+        return totals;
+    }
+
+    private static List<Long> rank(Map<Long, Long> totals) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>();
+        totals.forEach((bookId, quantity) -> {
+            if (quantity > 0) {
+                entries.add(Map.entry(bookId, quantity));
+            }
+        });
+        entries.sort(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries.stream()
+                .limit(MAX_TOP)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
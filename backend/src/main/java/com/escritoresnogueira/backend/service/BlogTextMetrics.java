@@ -0,0 +1,95 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import main.java.com.escritoresnogueira.backend.model.BlogPost;
+
+/**
+ * Plain-text metrics of a blog post's HTML: word count, read time and a
+ * tag-free excerpt.
+ *
+ * Computed once when a post is saved and stored on the post, so the public
+ * listings only copy fields. Tags are stripped in a single pass over the HTML
+ * (each tag counts as a word break); entities are left as they are, since the
+ * excerpt is rendered as HTML by the frontend.
+ */
+public final class BlogTextMetrics {
+
+    public static final int WORDS_PER_MINUTE = 200;
+
+    // Excerpt taken from the content when the post has none
+    public static final int EXCERPT_LENGTH = 200;
+
+    /**
+     * Metrics of one post
+     */
+    public record Metrics(int wordCount, int readTimeMinutes, String excerpt) {}
+
+    private BlogTextMetrics() {
+    }
+
+    /**
+     * Compute the metrics of a post and store them on it
+     */
+    public static void apply(BlogPost post) {
+        Metrics metrics = of(post.getContent(), post.getExcerpt());
+        post.setWordCount(metrics.wordCount());
+        post.setReadTimeMinutes(metrics.readTimeMinutes());
+        post.setPlainExcerpt(metrics.excerpt());
+    }
+
+    /**
+     * Metrics of an HTML body; the excerpt is the given one without tags,
+     * or the start of the body when none is given
+     */
+    public static Metrics of(String html, String excerpt) {
+        String text = plainText(html);
+        int words = countWords(text);
+        String plainExcerpt = excerpt != null && !excerpt.isBlank()
+                ? plainText(excerpt)
+                : truncate(text, EXCERPT_LENGTH);
+        return new Metrics(words, Math.max(1, words / WORDS_PER_MINUTE), plainExcerpt);
+    }
+
+    /**
+     * Text outside tags, whitespace collapsed to single spaces
+     */
+    static String plainText(String html) {
+        if (html == null || html.isEmpty()) return "";
+        StringBuilder text = new StringBuilder(html.length());
+        boolean inTag = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (inTag) {
+                if (c == '>') inTag = false;
+            } else if (c == '<') {
+                inTag = true;
+                pendingSpace = true;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && !text.isEmpty()) text.append(' ');
+                pendingSpace = false;
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    private static int countWords(String text) {
+        if (text.isEmpty()) return 0;
+        int words = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == ' ') words++;
+        }
+        return words;
+    }
+
+    /**
+     * At most max characters, cut at a word boundary
+     */
+    private static String truncate(String text, int max) {
+        if (text.length() <= max) return text;
+        int cut = text.lastIndexOf(' ', max);
+        return text.substring(0, cut > 0 ? cut : max) + "…";
+    }
+}
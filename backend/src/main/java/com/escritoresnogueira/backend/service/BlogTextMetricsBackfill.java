@@ -0,0 +1,78 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.controller.BlogController;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the text metrics columns of posts saved before they existed, once at
+ * startup, so the listing queries can rely on them without reading the content.
+ * Later saves compute them in AdminBlogController.
+ *
+ * Posts are read in id-keyset chunks, each updated in its own short
+ * transaction, so only one chunk of contents is held in memory and a node
+ * never keeps a long transaction open over the whole table. Nodes starting
+ * together may compute the same chunk; the update is idempotent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlogTextMetricsBackfill {
+
+    // Posts per chunk (content included)
+    private static final int CHUNK_SIZE = 100;
+
+    private final BlogPostRepository blogPostRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonResponseCache jsonResponseCache;
+    private final ContentVersionService contentVersionService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                long cursor = afterId;
+                List<Object[]> rows = transactionTemplate.execute(status -> {
+                    List<Object[]> chunk = blogPostRepository.findWithoutTextMetrics(cursor, PageRequest.of(0, CHUNK_SIZE));
+                    for (Object[] row : chunk) {
+                        BlogTextMetrics.Metrics metrics = BlogTextMetrics.of((String) row[1], (String) row[2]);
+                        blogPostRepository.updateTextMetrics((Long) row[0],
+                                metrics.wordCount(), metrics.readTimeMinutes(), metrics.excerpt());
+                    }
+                    return chunk;
+                });
+                if (rows == null || rows.isEmpty()) break;
+
+                updated += rows.size();
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+                if (rows.size() < CHUNK_SIZE) break;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not compute text metrics of existing blog posts: {}", e.getMessage());
+        }
+
+        // Chunks committed before a failure are still announced
+        if (updated > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.BLOG, CacheInvalidationBus.ALL));
+            } catch (RuntimeException e) {
+                log.warn("Could not announce blog text metrics to other nodes: {}", e.getMessage());
+            }
+            jsonResponseCache.invalidatePrefix(BlogController.CACHE_PREFIX);
+            contentVersionService.bump(ContentVersionService.Area.BLOG);
+            log.info("📝 Text metrics computed for {} existing blog posts", updated);
+        }
+    }
+}
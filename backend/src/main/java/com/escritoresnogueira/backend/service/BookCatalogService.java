@@ -0,0 +1,326 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.BookCardDTO;
+import main.java.com.escritoresnogueira.backend.dto.BookDTO;
+import main.java.com.escritoresnogueira.backend.model.Book;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * In-memory read model of the public catalog.
+ *
+ * Holds an immutable snapshot of all active books with prebuilt DTOs and
+ * id/slug/featured indexes. Readers just dereference the current snapshot
+ * (no locks, no DB round trips); admin writes build a new snapshot and swap
+ * it in atomically (copy-on-write).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookCatalogService {
+
+    private final BookRepository bookRepository;
+    private final JsonResponseCache jsonResponseCache;
+    private final ContentVersionService contentVersionService;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    // Bumped by every applied change; a reload that overlapped one loads again
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * All active books as cards, ordered by id
+     */
+    public List<BookCardDTO> getActiveBooks() {
+        return current().books();
+    }
+
+    /**
+     * Featured active books as cards, ordered by id
+     */
+    public List<BookCardDTO> getFeaturedBooks() {
+        return current().featured();
+    }
+
+    /**
+     * All active books, already serialized to JSON when the snapshot was built
+     */
+    public JsonResponseCache.SerializedJson getActiveBooksJson() {
+        return current().booksJson();
+    }
+
+    /**
+     * Featured active books, already serialized to JSON when the snapshot was built
+     */
+    public JsonResponseCache.SerializedJson getFeaturedBooksJson() {
+        return current().featuredJson();
+    }
+
+    /**
+     * Full book (detail view, including sample pages)
+     */
+    public Optional<BookDTO> findById(Long id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    /**
+     * Card view of an active book (for lists built elsewhere, e.g. related books)
+     */
+    public Optional<BookCardDTO> findCardById(Long id) {
+        return Optional.ofNullable(current().cardsById().get(id));
+    }
+
+    /**
+     * Resolve a slug through the in-memory slug→id map (canonicalized first,
+     * so "Meu-Livro" and "meu-livro" resolve the same); unknown slugs never reach the DB
+     */
+    public Optional<BookDTO> findBySlug(String slug) {
+        String canonical = SlugNormalizer.canonical(slug);
+        if (canonical == null) return Optional.empty();
+        CatalogSnapshot current = current();
+        Long id = current.slugToId().get(canonical);
+        return id == null ? Optional.empty() : Optional.ofNullable(current.byId().get(id));
+    }
+
+    /**
+     * Filter, sort and page the active catalog in memory.
+     * Only the requested page is returned, together with the total counts.
+     */
+    public Page<BookCardDTO> search(SearchCriteria criteria, int page, int size) {
+        Predicate<SearchEntry> filter = criteria.toPredicate();
+        List<SearchEntry> matches = new ArrayList<>();
+        for (SearchEntry entry : current().entries()) {
+            if (filter.test(entry)) {
+                matches.add(entry);
+            }
+        }
+
+        Comparator<SearchEntry> order = sortOrder(criteria.sort());
+        if (order != null) {
+            matches.sort(order);
+        }
+
+        // long: a large client page number must not overflow into a negative offset
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        List<BookCardDTO> content = matches.subList(from, to).stream().map(SearchEntry::card).toList();
+        return new PageImpl<>(content, PageRequest.of(page, size), matches.size());
+    }
+
+    private static Comparator<SearchEntry> sortOrder(String sort) {
+        if (sort == null) return null;
+        Comparator<SearchEntry> byTitle = Comparator.comparing(SearchEntry::title);
+        Comparator<SearchEntry> byPrice = Comparator.comparing(entry -> entry.card().getPrice(),
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        return switch (sort) {
+            case "title" -> byTitle;
+            case "title-desc" -> byTitle.reversed();
+            case "price" -> byPrice;
+            case "price-desc" -> byPrice.reversed();
+            case "newest" -> Comparator.comparing((SearchEntry entry) -> entry.card().getId()).reversed();
+            default -> null; // catalog order (by id)
+        };
+    }
+
+    /**
+     * Lower-case and strip accents so "Ficção" matches "ficcao"
+     */
+    private static String fold(String value) {
+        if (value == null) return "";
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return normalized.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rebuild the whole snapshot from the database.
+     * A change applied while the books were being read may be missing from
+     * what was read (and would be overwritten by the swap), so the snapshot is
+     * loaded again until no change overlapped the load.
+     */
+    public void refresh() {
+        while (true) {
+            long seen = changes.get();
+            List<Book> books = bookRepository.findByActiveTrue();
+            List<BookDTO> dtos = books.stream().map(BookDTO::fromEntity).toList();
+            snapshot.set(CatalogSnapshot.of(dtos, jsonResponseCache));
+            if (changes.get() == seen) {
+                log.info("📚 Catalog snapshot rebuilt with {} active books", dtos.size());
+                return;
+            }
+            log.debug("📚 Catalog changed while loading, reloading");
+        }
+    }
+
+    /**
+     * Apply a created/updated/toggled book to the snapshot.
+     * Inactive books are removed from the public catalog.
+     */
+    public void onBookSaved(Book book) {
+        if (book == null || book.getId() == null) return;
+        BookDTO dto = book.isActive() ? BookDTO.fromEntity(book) : null;
+        changes.incrementAndGet();
+        snapshot.updateAndGet(current -> {
+            if (current == null) return null; // not loaded yet; first read will load it
+            Map<Long, BookDTO> books = new LinkedHashMap<>(current.byId());
+            if (dto != null) {
+                books.put(dto.getId(), dto);
+            } else {
+                books.remove(book.getId());
+            }
+            return CatalogSnapshot.of(books.values(), jsonResponseCache);
+        });
+        contentVersionService.bump(ContentVersionService.Area.CATALOG);
+    }
+
+    /**
+     * Remove a deleted book from the snapshot
+     */
+    public void onBookDeleted(Long id) {
+        if (id == null) return;
+        changes.incrementAndGet();
+        snapshot.updateAndGet(current -> {
+            if (current == null || !current.byId().containsKey(id)) return current;
+            Map<Long, BookDTO> books = new LinkedHashMap<>(current.byId());
+            books.remove(id);
+            return CatalogSnapshot.of(books.values(), jsonResponseCache);
+        });
+        contentVersionService.bump(ContentVersionService.Area.CATALOG);
+    }
+
+    private CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    refresh();
+                    current = snapshot.get();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Filters for catalog search. Null values mean "no filter".
+     */
+    public record SearchCriteria(String query, String category, Boolean promo, Boolean featured,
+                                 String language, BigDecimal minPrice, BigDecimal maxPrice, String sort) {
+
+        Predicate<SearchEntry> toPredicate() {
+            Predicate<SearchEntry> filter = entry -> true;
+            if (category != null && !category.isBlank()) {
+                String wanted = fold(category);
+                filter = filter.and(entry -> wanted.equals(entry.category()));
+            }
+            if (promo != null) {
+                filter = filter.and(entry -> promo.equals(entry.card().getPromo()));
+            }
+            if (featured != null) {
+                filter = filter.and(entry -> featured.equals(entry.card().getFeatured()));
+            }
+            if (language != null && !language.isBlank()) {
+                String wanted = fold(language);
+                filter = filter.and(entry -> wanted.equals(entry.language()));
+            }
+            if (minPrice != null) {
+                filter = filter.and(entry -> entry.card().getPrice() != null && entry.card().getPrice().compareTo(minPrice) >= 0);
+            }
+            if (maxPrice != null) {
+                filter = filter.and(entry -> entry.card().getPrice() != null && entry.card().getPrice().compareTo(maxPrice) <= 0);
+            }
+            if (query != null && !query.isBlank()) {
+                String q = fold(query.trim());
+                filter = filter.and(entry -> entry.title().contains(q)
+                        || entry.author().contains(q)
+                        || entry.isbn().contains(q));
+            }
+            return filter;
+        }
+    }
+
+    /**
+     * A catalog card with its search keys folded once at snapshot build time
+     */
+    record SearchEntry(BookCardDTO card, String title, String author, String category, String language, String isbn) {
+
+        static SearchEntry of(BookDTO dto, BookCardDTO card) {
+            return new SearchEntry(card, fold(dto.getTitle()), fold(dto.getAuthor()),
+                    fold(dto.getCategory()), fold(dto.getLanguage()), fold(dto.getIsbn()));
+        }
+    }
+
+    /**
+     * Immutable catalog snapshot. Never mutated after construction.
+     * byId holds the full detail DTOs; the lists hold the lightweight cards.
+     * The list responses are serialized once here, on every catalog change.
+     */
+    record CatalogSnapshot(
+            List<BookCardDTO> books,
+            List<BookCardDTO> featured,
+            Map<Long, BookDTO> byId,
+            Map<Long, BookCardDTO> cardsById,
+            Map<String, Long> slugToId,
+            List<SearchEntry> entries,
+            JsonResponseCache.SerializedJson booksJson,
+            JsonResponseCache.SerializedJson featuredJson) {
+
+        static CatalogSnapshot of(Collection<BookDTO> dtos, JsonResponseCache renderer) {
+            List<BookDTO> books = new ArrayList<>(dtos);
+            books.sort(Comparator.comparing(BookDTO::getId));
+
+            Map<Long, BookDTO> byId = new LinkedHashMap<>();
+            Map<Long, BookCardDTO> cardsById = new HashMap<>();
+            Map<String, Long> slugToId = new HashMap<>();
+            List<BookCardDTO> cards = new ArrayList<>(books.size());
+            List<BookCardDTO> featured = new ArrayList<>();
+            List<SearchEntry> entries = new ArrayList<>(books.size());
+            for (BookDTO dto : books) {
+                BookCardDTO card = BookCardDTO.from(dto);
+                cards.add(card);
+                entries.add(SearchEntry.of(dto, card));
+                byId.put(dto.getId(), dto);
+                cardsById.put(dto.getId(), card);
+                String slug = SlugNormalizer.canonical(dto.getSlug());
+                if (slug != null) {
+                    slugToId.put(slug, dto.getId());
+                }
+                if (Boolean.TRUE.equals(dto.getFeatured())) {
+                    featured.add(card);
+                }
+            }
+
+            List<BookCardDTO> allBooks = List.copyOf(cards);
+            List<BookCardDTO> featuredBooks = List.copyOf(featured);
+            return new CatalogSnapshot(
+                    allBooks,
+                    featuredBooks,
+                    Collections.unmodifiableMap(byId),
+                    Map.copyOf(cardsById),
+                    Map.copyOf(slugToId),
+                    List.copyOf(entries),
+                    renderer.render(allBooks),
+                    renderer.render(featuredBooks));
+        }
+    }
+}
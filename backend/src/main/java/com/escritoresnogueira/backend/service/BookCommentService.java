@@ -4,11 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import main.java.com.escritoresnogueira.backend.dto.BookCommentDTO;
 import main.java.com.escritoresnogueira.backend.dto.CreateBookCommentDTO;
+import main.java.com.escritoresnogueira.backend.dto.CursorPage;
+import main.java.com.escritoresnogueira.backend.dto.PageCursor;
 import main.java.com.escritoresnogueira.backend.model.Book;
 import main.java.com.escritoresnogueira.backend.model.BookComment;
 import main.java.com.escritoresnogueira.backend.repository.BookCommentRepository;
 import main.java.com.escritoresnogueira.backend.repository.BookRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +27,8 @@ public class BookCommentService {
     
     private final BookCommentRepository bookCommentRepository;
     private final BookRepository bookRepository;
+    private final ContentVersionService contentVersionService;
+    private final RatingSummaryService ratingSummaryService;
     
     /**
      * Submit a new comment for a book (will be in pending status)
@@ -70,6 +75,18 @@ public class BookCommentService {
             .map(this::mapToDTO);
     }
     
+    /**
+     * Get approved comments for a book using keyset pagination (no COUNT query)
+     */
+    public CursorPage<BookCommentDTO> getApprovedComments(Long bookId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BookComment> rows = after == null
+                ? bookCommentRepository.findByBookIdAndStatusFirstPage(bookId, "approved", limit)
+                : bookCommentRepository.findByBookIdAndStatusBefore(bookId, "approved", after.createdAt(), after.id(), limit);
+        return CursorPage.from(rows, size, this::mapToDTO);
+    }
+    
     /**
      * Get all comments for a book (admin view)
      */
@@ -86,6 +103,18 @@ public class BookCommentService {
             .map(this::mapToDTO);
     }
     
+    /**
+     * Get pending comments using keyset pagination, oldest first (admin view)
+     */
+    public CursorPage<BookCommentDTO> getPendingComments(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<BookComment> rows = after == null
+                ? bookCommentRepository.findByStatusFirstPage("pending", limit)
+                : bookCommentRepository.findByStatusAfter("pending", after.createdAt(), after.id(), limit);
+        return CursorPage.from(rows, size, this::mapToDTO);
+    }
+    
     /**
      * Approve a comment
      */
@@ -94,10 +123,16 @@ public class BookCommentService {
         BookComment comment = bookCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comentário não encontrado"));
         
+        // Rating aggregates are updated before the status change is flushed
+        if (!"approved".equals(comment.getStatus())) {
+            applyRating(comment, 1);
+        }
+        
         comment.setStatus("approved");
         comment.setApprovedAt(LocalDateTime.now());
         
         BookComment saved = bookCommentRepository.save(comment);
+        contentVersionService.bump(ContentVersionService.Area.COMMENTS);
         log.info("Comentário aprovado: ID {}", commentId);
         
         return mapToDTO(saved);
@@ -111,9 +146,14 @@ public class BookCommentService {
         BookComment comment = bookCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comentário não encontrado"));
         
+        if ("approved".equals(comment.getStatus())) {
+            applyRating(comment, -1);
+        }
+        
         comment.setStatus("rejected");
         
         BookComment saved = bookCommentRepository.save(comment);
+        contentVersionService.bump(ContentVersionService.Area.COMMENTS);
         log.info("Comentário rejeitado: ID {}", commentId);
         
         return mapToDTO(saved);
@@ -127,7 +167,12 @@ public class BookCommentService {
         BookComment comment = bookCommentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comentário não encontrado"));
         
+        if ("approved".equals(comment.getStatus())) {
+            applyRating(comment, -1);
+        }
+        
         bookCommentRepository.delete(comment);
+        contentVersionService.bump(ContentVersionService.Area.COMMENTS);
         log.info("Comentário deletado: ID {}", commentId);
     }
     
@@ -142,6 +187,7 @@ public class BookCommentService {
         comment.setHelpfulCount(comment.getHelpfulCount() + 1);
         
         BookComment saved = bookCommentRepository.save(comment);
+        contentVersionService.bump(ContentVersionService.Area.COMMENTS);
         log.info("Comentário marcado como útil: ID {}", commentId);
         
         return mapToDTO(saved);
@@ -161,6 +207,15 @@ public class BookCommentService {
         return bookCommentRepository.countByStatus("pending");
     }
     
+    /**
+     * Add/remove an approved comment's rating to its book's aggregates
+     */
+    private void applyRating(BookComment comment, int delta) {
+        if (comment.getBook() != null && comment.getRating() != null) {
+            ratingSummaryService.applyChange(comment.getBook().getId(), comment.getRating(), delta);
+        }
+    }
+    
     /**
      * Map BookComment to DTO
      */
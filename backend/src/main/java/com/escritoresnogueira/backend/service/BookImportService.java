@@ -0,0 +1,618 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.AdminBookDTO;
+import main.java.com.escritoresnogueira.backend.dto.BookImportJobDTO;
+import main.java.com.escritoresnogueira.backend.model.StringListConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of books from CSV or NDJSON.
+ *
+ * The request body is spooled to a temporary file and processed by a single
+ * background worker, one record at a time: each row is validated with the
+ * {@link AdminBookDTO} constraints and upserted by ISBN (or slug when the row
+ * has no ISBN) in chunks of {@code hibernate.jdbc.batch_size} rows, each chunk
+ * one transaction with one JDBC batch for inserts and one for updates. Memory
+ * use depends on the chunk size, not on the file size. A chunk that fails is
+ * retried row by row so a bad row only rejects itself.
+ *
+ * Rows are full records: an update rewrites every column, with absent optional
+ * values taking the same defaults as a new book, so partial rows (e.g. only
+ * isbn and stock) are not supported. A row whose ISBN matches no book is a new
+ * book; it is rejected if its slug already belongs to another one.
+ *
+ * Progress and the first rejected rows are exposed as an import job.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+
+    // Rejected rows kept per job; the counters still count all of them
+    private static final int MAX_ERRORS = 100;
+    // Finished jobs kept for status queries
+    private static final int MAX_JOBS = 20;
+    // Longest NDJSON line accepted
+    private static final int MAX_LINE_LENGTH = 256 * 1024;
+
+    // Written columns, in parameter order (id, counters and timestamps are handled separately)
+    private static final List<String> COLUMNS = List.of(
+            "title", "slug", "author", "category", "price", "original_price", "description", "isbn",
+            "pages", "publish_year", "language", "publisher", "featured", "promo", "cover_image",
+            "sample_pages", "stock", "active");
+    private static final int[] COLUMN_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.NUMERIC, Types.VARCHAR,
+            Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.BOOLEAN,
+            Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.BOOLEAN};
+
+    private static final String INSERT_SQL =
+            "INSERT INTO books (id, " + String.join(", ", COLUMNS) + ", sales_count, view_count, created_at, updated_at) " +
+            "VALUES (nextval('default_sequence'), " + "?, ".repeat(COLUMNS.size()) + "0, 0, ?, ?)";
+    private static final int[] INSERT_TYPES = withTypes(Types.TIMESTAMP, Types.TIMESTAMP);
+
+    // Rows are full records (they pass the same validation as a new book): every column is
+    // rewritten, except the slug, which a null parameter keeps
+    private static final String UPDATE_SQL =
+            "UPDATE books SET " + COLUMNS.stream()
+                    .map(c -> c.equals("slug") ? "slug = COALESCE(?, slug)" : c + " = ?")
+                    .collect(Collectors.joining(", ")) +
+            ", updated_at = ? WHERE id = ?";
+    private static final int[] UPDATE_TYPES = withTypes(Types.TIMESTAMP, Types.BIGINT);
+
+    private static final String FIND_EXISTING_SQL = "SELECT id, isbn, slug FROM books WHERE slug IN (:slugs)";
+
+    private static final StringListConverter SAMPLE_PAGES = new StringListConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BookCatalogService bookCatalogService;
+    private final SearchIndexService searchIndexService;
+    private final RelatedBooksService relatedBooksService;
+    private final StockReservationService stockReservationService;
+    private final ContentVersionService contentVersionService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    // Shared mapper that ignores extra fields in rows (e.g. an exported "id")
+    private final ObjectMapper rowMapper;
+    private final int batchSize;
+    private final long maxFileSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentHashMap<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * A validated row waiting in the current chunk
+     */
+    private record Row(long line, AdminBookDTO book, String slug, String isbn) {}
+
+    /**
+     * Rows written by one chunk
+     */
+    private record ChunkResult(int inserted, List<Long> updatedIds) {}
+
+    public BookImportService(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedJdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             BookCatalogService bookCatalogService,
+                             SearchIndexService searchIndexService,
+                             RelatedBooksService relatedBooksService,
+                             StockReservationService stockReservationService,
+                             ContentVersionService contentVersionService,
+                             CacheInvalidationBus cacheInvalidationBus,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize,
+                             @Value("${books.import.max-file-size-bytes:104857600}") long maxFileSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.bookCatalogService = bookCatalogService;
+        this.searchIndexService = searchIndexService;
+        this.relatedBooksService = relatedBooksService;
+        this.stockReservationService = stockReservationService;
+        this.contentVersionService = contentVersionService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.rowMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Spool an upload to disk and queue it for import
+     *
+     * @throws IllegalArgumentException if the body is larger than the configured limit
+     */
+    public BookImportJobDTO submit(InputStream body, DataFormat format) throws IOException {
+        Path file = Files.createTempFile("book-import-", "." + format.getCode());
+        try {
+            spool(body, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.id, job);
+        pruneJobs();
+        worker.execute(() -> run(job, file));
+        log.info("📥 Book import {} queued ({}, {} bytes)", job.id, format.getCode(), Files.size(file));
+        return job.toDTO();
+    }
+
+    public Optional<BookImportJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobId == null ? null : jobs.get(jobId)).map(ImportJob::toDTO);
+    }
+
+    /**
+     * Known jobs, newest first
+     */
+    public List<BookImportJobDTO> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((ImportJob job) -> job.createdAt).reversed())
+                .map(ImportJob::toDTO)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void spool(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxFileSize) {
+                    throw new IllegalArgumentException("Ficheiro demasiado grande (máximo " + maxFileSize + " bytes)");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.status = Status.RUNNING;
+        job.startedAt = Instant.now();
+        Chunk chunk = new Chunk(job);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (job.format == DataFormat.CSV) {
+                readCsv(reader, chunk);
+            } else {
+                readNdjson(reader, chunk);
+            }
+            chunk.flush();
+            job.status = Status.COMPLETED;
+        } catch (Exception e) {
+            log.error("❌ Book import {} failed: {}", job.id, e.getMessage(), e);
+            job.message = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            deleteQuietly(file);
+            if (job.inserted.get() + job.updated.get() > 0) {
+                refreshDerivedData();
+            }
+        }
+        log.info("📥 Book import {} {}: {} inserted, {} updated, {} rejected",
+                job.id, job.status, job.inserted.get(), job.updated.get(), job.failed.get());
+    }
+
+    // ----- Readers -----
+
+    private void readCsv(Reader reader, Chunk chunk) throws IOException {
+        try (CsvReader csv = new CsvReader(reader)) {
+            List<String> header = csv.next();
+            if (header == null) return;
+            List<String> fields = header.stream()
+                    .map(name -> name.replace("\uFEFF", "").trim())
+                    .toList();
+
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                long line = csv.getRecordLine();
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (int i = 0; i < fields.size() && i < record.size(); i++) {
+                    String value = record.get(i).trim();
+                    if (value.isEmpty() || fields.get(i).isEmpty()) continue;
+                    // Sample page URLs are separated by "|" in a single column
+                    values.put(fields.get(i), fields.get(i).equals("samplePages")
+                            ? Arrays.stream(value.split("\\|")).map(String::trim).filter(s -> !s.isEmpty()).toList()
+                            : value);
+                }
+                AdminBookDTO book;
+                try {
+                    book = rowMapper.convertValue(values, AdminBookDTO.class);
+                } catch (IllegalArgumentException e) {
+                    chunk.job.reject(line, describe(e));
+                    continue;
+                }
+                chunk.accept(line, book);
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Chunk chunk) throws IOException {
+        ObjectReader rowReader = rowMapper.readerFor(AdminBookDTO.class);
+        StringBuilder buffer = new StringBuilder();
+        long line = 0;
+        while (readLine(reader, buffer)) {
+            line++;
+            if (buffer.isEmpty() || buffer.toString().isBlank()) continue;
+            AdminBookDTO book;
+            try {
+                book = rowReader.readValue(buffer.toString());
+            } catch (JsonProcessingException e) {
+                chunk.job.reject(line, describe(e));
+                continue;
+            }
+            chunk.accept(line, book);
+        }
+    }
+
+    /**
+     * Read one line into the buffer (without the terminator); false at the end of the input
+     */
+    private static boolean readLine(BufferedReader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) return false;
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                if (buffer.length() >= MAX_LINE_LENGTH) {
+                    throw new IOException("Linha demasiado longa (máximo " + MAX_LINE_LENGTH + " caracteres)");
+                }
+                buffer.append((char) c);
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+
+    // ----- Chunked upsert -----
+
+    /**
+     * Rows of the chunk being filled. A row whose ISBN or slug is already in the
+     * chunk flushes it first, so repeated keys are applied in file order.
+     */
+    private final class Chunk {
+
+        private final ImportJob job;
+        private final List<Row> rows = new ArrayList<>();
+        private final Set<String> isbns = new HashSet<>();
+        private final Set<String> slugs = new HashSet<>();
+
+        private Chunk(ImportJob job) {
+            this.job = job;
+        }
+
+        void accept(long line, AdminBookDTO book) {
+            Set<ConstraintViolation<AdminBookDTO>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                job.reject(line, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            String slug = SlugNormalizer.canonical(book.getSlug() != null && !book.getSlug().isBlank()
+                    ? book.getSlug() : book.getTitle());
+            if (slug == null) {
+                job.reject(line, "Slug inválido");
+                return;
+            }
+            String isbn = book.getIsbn() != null && !book.getIsbn().isBlank() ? book.getIsbn().trim() : null;
+
+            if (slugs.contains(slug) || (isbn != null && isbns.contains(isbn))) {
+                flush();
+            }
+            rows.add(new Row(line, book, slug, isbn));
+            slugs.add(slug);
+            if (isbn != null) isbns.add(isbn);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) return;
+            upsert(job, List.copyOf(rows));
+            rows.clear();
+            isbns.clear();
+            slugs.clear();
+        }
+    }
+
+    private void upsert(ImportJob job, List<Row> rows) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> write(rows));
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                job.reject(rows.get(0).line(), describe(e));
+            } else {
+                log.debug("Import chunk of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+                rows.forEach(row -> upsert(job, List.of(row)));
+            }
+            return;
+        }
+        job.inserted.addAndGet(result.inserted());
+        job.updated.addAndGet(result.updatedIds().size());
+        result.updatedIds().forEach(stockReservationService::refresh);
+    }
+
+    private ChunkResult write(List<Row> rows) {
+        Map<String, Long> byIsbn = new HashMap<>();
+        Map<String, Long> bySlug = new HashMap<>();
+        findExisting(rows, byIsbn, bySlug);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Row row : rows) {
+            Long slugOwner = bySlug.get(row.slug());
+            Long id;
+            if (row.isbn() == null) {
+                // Without an ISBN the canonical slug identifies the book
+                id = slugOwner;
+            } else {
+                // A new ISBN is a new book, never an update of the book that owns the slug
+                id = byIsbn.get(row.isbn());
+                boolean slugTaken = slugOwner != null && !slugOwner.equals(id);
+                if (slugTaken && (id == null || hasExplicitSlug(row))) {
+                    throw new IllegalArgumentException("Slug já usado por outro livro: " + row.slug());
+                }
+            }
+
+            if (id == null) {
+                inserts.add(insertValues(row, now));
+            } else {
+                updates.add(updateValues(row, now, id));
+                updatedIds.add(id);
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, INSERT_TYPES);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, UPDATE_TYPES);
+        }
+        return new ChunkResult(inserts.size(), updatedIds);
+    }
+
+    private void findExisting(List<Row> rows, Map<String, Long> byIsbn, Map<String, Long> bySlug) {
+        Set<String> slugs = rows.stream().map(Row::slug).collect(Collectors.toSet());
+        Set<String> isbns = rows.stream().map(Row::isbn).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        MapSqlParameterSource params = new MapSqlParameterSource("slugs", slugs);
+        String sql = FIND_EXISTING_SQL;
+        if (!isbns.isEmpty()) {
+            sql += " OR isbn IN (:isbns)";
+            params.addValue("isbns", isbns);
+        }
+        namedJdbcTemplate.query(sql, params, rs -> {
+            long id = rs.getLong("id");
+            String isbn = rs.getString("isbn");
+            if (isbn != null && isbns.contains(isbn)) byIsbn.put(isbn, id);
+            String slug = rs.getString("slug");
+            if (slugs.contains(slug)) bySlug.put(slug, id);
+        });
+    }
+
+    /**
+     * Parameters of a new book, with the defaults of AdminBookDTO.toEntity
+     */
+    private static Object[] insertValues(Row row, Timestamp now) {
+        return withTail(columnValues(row, row.slug()), now, now);
+    }
+
+    /**
+     * Parameters of an existing book: the row replaces it, with absent optional
+     * values taking the same defaults as on insert. The slug is only rewritten
+     * when the row sets one explicitly.
+     */
+    private static Object[] updateValues(Row row, Timestamp now, Long id) {
+        return withTail(columnValues(row, hasExplicitSlug(row) ? row.slug() : null), now, id);
+    }
+
+    /**
+     * Values of COLUMNS for a row
+     */
+    private static Object[] columnValues(Row row, String slug) {
+        AdminBookDTO book = row.book();
+        return new Object[]{
+                book.getTitle(), slug, book.getAuthor(),
+                book.getCategory() != null ? book.getCategory() : "geral",
+                book.getPrice(), book.getOldPrice(), book.getDescription(), row.isbn(),
+                book.getPages(), book.getYear(), book.getLanguage(), book.getPublisher(),
+                book.getFeatured() != null ? book.getFeatured() : false,
+                book.getPromo() != null ? book.getPromo() : false,
+                book.getImage(),
+                SAMPLE_PAGES.convertToDatabaseColumn(book.getSamplePages() != null ? book.getSamplePages() : List.of()),
+                book.getStock() != null ? book.getStock() : 0,
+                book.getActive() != null ? book.getActive() : true};
+    }
+
+    private static Object[] withTail(Object[] values, Object... tail) {
+        Object[] all = Arrays.copyOf(values, values.length + tail.length);
+        System.arraycopy(tail, 0, all, values.length, tail.length);
+        return all;
+    }
+
+    private static boolean hasExplicitSlug(Row row) {
+        return row.book().getSlug() != null && !row.book().getSlug().isBlank();
+    }
+
+    private void refreshDerivedData() {
+        try {
+            bookCatalogService.refresh();
+            contentVersionService.bump(ContentVersionService.Area.CATALOG);
+            searchIndexService.rebuild();
+            relatedBooksService.rebuild();
+            // One reload on the other nodes for the whole job rather than one per chunk
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.CATALOG, CacheInvalidationBus.ALL);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh catalog after import: {}", e.getMessage());
+        }
+    }
+
+    private void pruneJobs() {
+        if (jobs.size() <= MAX_JOBS) return;
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing(job -> job.createdAt))
+                .limit(jobs.size() - MAX_JOBS)
+                .toList()
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Short, row-level description of a parse or write error
+     */
+    private static String describe(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                String field = mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+                return "Valor inválido para '" + field + "'";
+            }
+            if (cause instanceof JsonProcessingException) {
+                return "JSON inválido";
+            }
+            if (cause instanceof IllegalArgumentException && cause.getMessage() != null) {
+                return cause.getMessage();
+            }
+            cause = cause.getCause();
+        }
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static int[] withTypes(int... extra) {
+        int[] types = Arrays.copyOf(COLUMN_TYPES, COLUMN_TYPES.length + extra.length);
+        System.arraycopy(extra, 0, types, COLUMN_TYPES.length, extra.length);
+        return types;
+    }
+
+    /**
+     * Mutable state of an import, read by status requests while the worker updates it
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final DataFormat format;
+        private final Instant createdAt = Instant.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String message;
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<BookImportJobDTO.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private ImportJob(String id, DataFormat format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void reject(long line, String reason) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new BookImportJobDTO.RowError(line, reason));
+            }
+        }
+
+        BookImportJobDTO toDTO() {
+            long insertedRows = inserted.get();
+            long updatedRows = updated.get();
+            long failedRows = failed.get();
+            List<BookImportJobDTO.RowError> firstErrors;
+            synchronized (errors) {
+                firstErrors = List.copyOf(errors);
+            }
+            return BookImportJobDTO.builder()
+                    .id(id)
+                    .format(format.getCode())
+                    .status(status.name())
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .processed(insertedRows + updatedRows + failedRows)
+                    .inserted(insertedRows)
+                    .updated(updatedRows)
+                    .failed(failedRows)
+                    .errors(firstErrors)
+                    .errorsTruncated(failedRows > firstErrors.size())
+                    .message(message)
+                    .build();
+        }
+    }
+}
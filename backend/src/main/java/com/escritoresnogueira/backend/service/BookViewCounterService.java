@@ -0,0 +1,109 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for book view counts.
+ *
+ * Views are accumulated in memory per book id and flushed periodically as one
+ * JDBC batch of {@code UPDATE books SET view_count = view_count + ?}, so a
+ * popular book costs one row update per flush instead of one per page view.
+ * Increments go through {@link ConcurrentHashMap#merge}, which locks only the
+ * bin of that book id, and a flush atomically removes each entry so no
+ * increment is lost or counted twice.
+ */
+@Slf4j
+@Service
+public class BookViewCounterService {
+
+    private static final String INCREMENT_SQL = "UPDATE books SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong bufferedTotal = new AtomicLong();
+    private final AtomicLong flushedTotal = new AtomicLong();
+
+    public BookViewCounterService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("books.views.buffered", pending, map -> map.values().stream().mapToLong(Long::longValue).sum())
+                .description("Book views waiting to be flushed")
+                .register(meterRegistry);
+        FunctionCounter.builder("books.views.recorded", bufferedTotal, AtomicLong::get)
+                .description("Book views recorded in the buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("books.views.flushed", flushedTotal, AtomicLong::get)
+                .description("Book views written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record one view of a book (memory only)
+     */
+    public void recordView(Long bookId) {
+        if (bookId == null) return;
+        pending.merge(bookId, 1L, Long::sum);
+        bufferedTotal.incrementAndGet();
+    }
+
+    /**
+     * Flush aggregated deltas to the database
+     */
+    @Scheduled(fixedDelayString = "${books.view-counter.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Long bookId : pending.keySet()) {
+            Long delta = pending.remove(bookId);
+            if (delta != null && delta > 0) {
+                batch.add(new Object[]{delta, bookId});
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+            long flushed = batch.stream().mapToLong(row -> (Long) row[0]).sum();
+            flushedTotal.addAndGet(flushed);
+            log.debug("👁️ Flushed {} views for {} books", flushed, batch.size());
+        } catch (Exception e) {
+            // Put the deltas back so they are retried on the next flush
+            for (Object[] row : batch) {
+                pending.merge((Long) row[1], (Long) row[0], Long::sum);
+            }
+            log.warn("Could not flush book view counts: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("👁️ Draining {} buffered book view counters", pending.size());
+        flush();
+    }
+
+    /**
+     * Snapshot of buffer metrics
+     */
+    public Map<String, Long> getMetrics() {
+        return Map.of(
+                "buffered", pending.values().stream().mapToLong(Long::longValue).sum(),
+                "recorded", bufferedTotal.get(),
+                "flushed", flushedTotal.get()
+        );
+    }
+}
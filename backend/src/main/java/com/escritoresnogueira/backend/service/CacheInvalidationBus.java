@@ -0,0 +1,98 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node invalidation of in-process caches.
+ *
+ * A write publishes the affected key inside its transaction; the
+ * {@link CacheInvalidationTransport} delivers it to every node once committed.
+ * The node that made the change has already updated its own caches, so only
+ * events from other nodes reach the handlers registered with {@link #subscribe}.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    // Key of events that invalidate a whole area rather than one entry
+    public static final String ALL = "*";
+
+    /**
+     * Kinds of cached data; the key format is per topic
+     */
+    public enum Topic {
+        BOOK,           // book id
+        CATALOG,        // ALL (bulk changes: reload everything)
+        BLOG,           // post id, or ALL for categories
+        SESSION,        // SHA-256 of the session token (tokens are never written to the outbox)
+        USER_SESSIONS   // Firebase UID (logout everywhere)
+    }
+
+    /**
+     * One invalidation, tagged with the node that published it
+     */
+    public record Event(Topic topic, String key, String origin) {}
+
+    private final CacheInvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Topic, List<Consumer<String>>> handlers = new EnumMap<>(Topic.class);
+    private final AtomicLong publishedTotal = new AtomicLong();
+    private final AtomicLong receivedTotal = new AtomicLong();
+
+    public CacheInvalidationBus(CacheInvalidationTransport transport, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        for (Topic topic : Topic.values()) {
+            handlers.put(topic, new CopyOnWriteArrayList<>());
+        }
+        transport.subscribe(this::receive);
+
+        FunctionCounter.builder("cache.invalidations.published", publishedTotal, AtomicLong::get)
+                .description("Cache invalidations published by this node")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.invalidations.received", receivedTotal, AtomicLong::get)
+                .description("Cache invalidations from other nodes applied by this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish an invalidation. Call inside the transaction that makes the change.
+     */
+    public void publish(Topic topic, String key) {
+        transport.send(new Event(topic, key, nodeId));
+        publishedTotal.incrementAndGet();
+    }
+
+    /**
+     * Run the handler with the key of every event of a topic published by another node
+     */
+    public void subscribe(Topic topic, Consumer<String> handler) {
+        handlers.get(topic).add(handler);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void receive(Event event) {
+        if (nodeId.equals(event.origin())) return;
+        receivedTotal.incrementAndGet();
+        for (Consumer<String> handler : handlers.get(event.topic())) {
+            try {
+                handler.accept(event.key());
+            } catch (RuntimeException e) {
+                log.warn("Could not apply cache invalidation {} {}: {}", event.topic(), event.key(), e.getMessage());
+            }
+        }
+    }
+}
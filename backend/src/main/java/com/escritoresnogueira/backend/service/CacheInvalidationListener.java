@@ -0,0 +1,77 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.controller.BlogController;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies catalog and blog changes made on other nodes to this node's caches,
+ * the same way the admin endpoints apply them on the node that handled the write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final BookRepository bookRepository;
+    private final BlogPostRepository blogPostRepository;
+    private final BookCatalogService bookCatalogService;
+    private final RelatedBooksService relatedBooksService;
+    private final SearchIndexService searchIndexService;
+    private final StockReservationService stockReservationService;
+    private final JsonResponseCache jsonResponseCache;
+    private final ContentVersionService contentVersionService;
+
+    @PostConstruct
+    void register() {
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.BOOK, this::onBookChanged);
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.CATALOG, key -> onCatalogChanged());
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.BLOG, this::onBlogChanged);
+    }
+
+    /**
+     * Reload one book into the catalog snapshot, related books and search index
+     */
+    private void onBookChanged(String key) {
+        Long id = Long.valueOf(key);
+        bookRepository.findById(id).ifPresentOrElse(book -> {
+            relatedBooksService.onBookSaved(book);
+            bookCatalogService.onBookSaved(book);
+            searchIndexService.indexBook(book);
+        }, () -> {
+            relatedBooksService.onBookDeleted(id);
+            bookCatalogService.onBookDeleted(id);
+            searchIndexService.removeBook(id);
+        });
+        stockReservationService.refresh(id);
+        log.debug("🔄 Book {} changed on another node", id);
+    }
+
+    /**
+     * Rebuild everything derived from the catalog (bulk import on another node)
+     */
+    private void onCatalogChanged() {
+        bookCatalogService.refresh();
+        contentVersionService.bump(ContentVersionService.Area.CATALOG);
+        searchIndexService.rebuild();
+        relatedBooksService.rebuild();
+        log.info("🔄 Catalog reloaded after a change on another node");
+    }
+
+    private void onBlogChanged(String key) {
+        jsonResponseCache.invalidatePrefix(BlogController.CACHE_PREFIX);
+        contentVersionService.bump(ContentVersionService.Area.BLOG);
+        if (!CacheInvalidationBus.ALL.equals(key)) {
+            Long id = Long.valueOf(key);
+            blogPostRepository.findById(id).ifPresentOrElse(
+                    searchIndexService::indexPost,
+                    () -> searchIndexService.removePost(id));
+        }
+        log.debug("🔄 Blog changed on another node ({})", key);
+    }
+}
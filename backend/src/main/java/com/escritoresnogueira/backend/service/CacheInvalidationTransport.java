@@ -0,0 +1,23 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between nodes for {@link CacheInvalidationBus}.
+ *
+ * Selected with {@code cache.invalidation.transport}: {@code outbox} (default,
+ * a table polled by every node) or {@code in-memory} (one JVM, for tests).
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Record an invalidation. Called inside the transaction that made the
+     * change, so the event exists if and only if the change was committed.
+     */
+    void send(CacheInvalidationBus.Event event);
+
+    /**
+     * Deliver every committed event, from any node, to the listener
+     */
+    void subscribe(Consumer<CacheInvalidationBus.Event> listener);
+}
@@ -0,0 +1,182 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.repository.BlogCategoryRepository;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookCommentRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Validators (ETag / Last-Modified) for the public read endpoints.
+ *
+ * The version of a content area is derived from its data: the max
+ * {@code updatedAt} and the row count of the underlying tables (for the blog,
+ * also the posts still waiting for their text metrics), so every node
+ * issues the same validator for the same data (and a restart keeps it). It is
+ * read once and re-read after each admin write; conditional GETs are answered
+ * from the cached value alone, before any repository query or serialization.
+ * Areas whose changes on other nodes are not published (comments) are re-read
+ * at most every REVALIDATE_AFTER.
+ *
+ * ETags are weak: the same validator is sent for the gzip and identity bodies.
+ */
+@Slf4j
+@Service
+public class ContentVersionService {
+
+    public enum Area {
+        CATALOG(false),
+        BLOG(false),
+        // Moderated on any node without a cache invalidation event
+        COMMENTS(true);
+
+        private final boolean revalidate;
+
+        Area(boolean revalidate) {
+            this.revalidate = revalidate;
+        }
+    }
+
+    /**
+     * Current validator of one content area
+     */
+    public record ContentVersion(long version, Instant lastModified, Instant checkedAt) {
+
+        /**
+         * Weak ETag for a given response key within this area
+         */
+        public String etag(Area area, String key) {
+            return "W/\"" + area.name().toLowerCase() + "-" + Long.toHexString(version)
+                    + "-" + Integer.toHexString(key.hashCode()) + "\"";
+        }
+    }
+
+    /**
+     * Max updatedAt and row count of one table
+     */
+    private record Fingerprint(LocalDateTime maxUpdatedAt, long rows) {}
+
+    private static final Duration REVALIDATE_AFTER = Duration.ofSeconds(30);
+
+    private final Map<Area, List<Supplier<Fingerprint>>> sources = new EnumMap<>(Area.class);
+    private final Map<Area, AtomicReference<ContentVersion>> versions = new EnumMap<>(Area.class);
+
+    public ContentVersionService(BookRepository bookRepository,
+                                 BlogPostRepository blogPostRepository,
+                                 BlogCategoryRepository blogCategoryRepository,
+                                 BookCommentRepository bookCommentRepository) {
+        sources.put(Area.CATALOG, List.of(
+                () -> new Fingerprint(bookRepository.findMaxUpdatedAt(), bookRepository.count())));
+        sources.put(Area.BLOG, List.of(
+                () -> new Fingerprint(blogPostRepository.findMaxUpdatedAt(), blogPostRepository.count()),
+                () -> new Fingerprint(blogCategoryRepository.findMaxUpdatedAt(), blogCategoryRepository.count()),
+                // The text metrics backfill changes listings but not updatedAt
+                () -> new Fingerprint(null, blogPostRepository.countByReadTimeMinutesIsNull())));
+        sources.put(Area.COMMENTS, List.of(
+                () -> new Fingerprint(bookCommentRepository.findMaxUpdatedAt(), bookCommentRepository.count())));
+        for (Area area : Area.values()) {
+            versions.put(area, new AtomicReference<>());
+        }
+    }
+
+    public ContentVersion current(Area area) {
+        AtomicReference<ContentVersion> ref = versions.get(area);
+        ContentVersion current = ref.get();
+        if (current == null
+                || area.revalidate && current.checkedAt().plus(REVALIDATE_AFTER).isBefore(Instant.now())) {
+            // First use (or stale): one MAX(updated_at) + COUNT per table, then memory only
+            ContentVersion loaded = load(area, current);
+            ref.compareAndSet(current, loaded);
+            current = ref.get();
+        }
+        return current;
+    }
+
+    /**
+     * Mark an area as changed (called on admin writes).
+     * Inside a transaction the re-read is deferred until after commit, so a
+     * reader can never pair the new ETag with the old data.
+     */
+    public void bump(Area area) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doBump(area);
+                }
+            });
+        } else {
+            doBump(area);
+        }
+    }
+
+    private void doBump(Area area) {
+        AtomicReference<ContentVersion> ref = versions.get(area);
+        ContentVersion previous = ref.get();
+        ref.set(load(area, previous));
+    }
+
+    /**
+     * Check If-None-Match / If-Modified-Since against the area validator.
+     * Sets ETag and Last-Modified on the response; returns true when a 304
+     * has been prepared and the caller should return immediately.
+     */
+    public boolean checkNotModified(WebRequest request, Area area, String key) {
+        ContentVersion current = current(area);
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            // Let browsers keep the response but always revalidate it
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return request.checkNotModified(current.etag(area, key), current.lastModified().toEpochMilli());
+    }
+
+    /**
+     * Read the area's fingerprint from the database. A change that did not move
+     * the max updatedAt (a deletion) still gets a newer Last-Modified; when the
+     * database cannot be read the version moves on locally.
+     */
+    private ContentVersion load(Area area, ContentVersion previous) {
+        Instant now = Instant.now();
+        try {
+            long version = 17;
+            LocalDateTime max = null;
+            for (Supplier<Fingerprint> source : sources.get(area)) {
+                Fingerprint fingerprint = source.get();
+                LocalDateTime maxUpdatedAt = fingerprint.maxUpdatedAt();
+                version = version * 31 + (maxUpdatedAt != null ? maxUpdatedAt.hashCode() : 0);
+                version = version * 31 + fingerprint.rows();
+                if (maxUpdatedAt != null && (max == null || maxUpdatedAt.isAfter(max))) {
+                    max = maxUpdatedAt;
+                }
+            }
+            Instant lastModified = max != null ? max.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+            if (previous != null && previous.version() != version && !lastModified.isAfter(previous.lastModified())) {
+                lastModified = now;
+            } else if (previous != null && previous.version() == version) {
+                lastModified = previous.lastModified();
+            }
+            return new ContentVersion(version, lastModified, now);
+        } catch (Exception e) {
+            log.warn("Could not read content version of {}: {}", area, e.getMessage());
+            return previous != null
+                    ? new ContentVersion(previous.version() + 1, now, now)
+                    : new ContentVersion(now.toEpochMilli(), now, now);
+        }
+    }
+}
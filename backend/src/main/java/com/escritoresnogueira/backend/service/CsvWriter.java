@@ -0,0 +1,43 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * RFC 4180 writer, the counterpart of {@link CsvReader}: fields containing a
+ * comma, quote or line break are quoted, records end with CRLF.
+ */
+final class CsvWriter {
+
+    private final Writer writer;
+
+    CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) writer.write(',');
+            writeField(fields.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null || field.isEmpty()) return;
+        boolean quote = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
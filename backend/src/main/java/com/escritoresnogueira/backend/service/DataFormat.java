@@ -0,0 +1,43 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+/**
+ * Row formats of the admin bulk import/export endpoints: ?format=csv | ndjson
+ */
+public enum DataFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String code;
+    private final String contentType;
+
+    DataFormat(String code, String contentType) {
+        this.code = code;
+        this.contentType = contentType;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Format from an explicit ?format= value, or else from a Content-Type/Accept header
+     */
+    public static DataFormat resolve(String format, String mediaType) {
+        if (format != null && !format.isBlank()) {
+            for (DataFormat value : values()) {
+                if (value.code.equalsIgnoreCase(format.trim())) {
+                    return value;
+                }
+            }
+        } else if (mediaType != null) {
+            String type = mediaType.toLowerCase();
+            if (type.contains("csv")) return CSV;
+            if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) return NDJSON;
+        }
+        throw new IllegalArgumentException("Formato inválido: use csv ou ndjson");
+    }
+}
@@ -0,0 +1,420 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Resized derivatives of book covers and blog images.
+ *
+ * Originals are read from a local storage directory; a derivative (one of
+ * {@link #WIDTHS}, WebP or JPEG) is rendered on its first request and kept in
+ * a disk cache bounded in bytes, least recently used files evicted first.
+ * Derivative names include the original's modification time, so replacing an
+ * original never serves a stale derivative.
+ *
+ * Rendering runs on a small fixed pool with a bounded queue: a burst of cold
+ * images holds at most workers + queue request threads, the rest are refused
+ * (503) instead of piling up, and concurrent requests for the same derivative
+ * share one render.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    // Derivative widths offered to the frontend (thumbnails to detail pages)
+    public static final List<Integer> WIDTHS = List.of(160, 320, 480, 640, 960, 1280);
+
+    // Largest original decoded (pixels), so one upload can't exhaust the heap
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+    private static final float QUALITY = 0.82f;
+    private static final String TEMP_PREFIX = "tmp-";
+
+    private static final boolean WEBP_SUPPORTED = ImageIO.getImageWritersByMIMEType("image/webp").hasNext();
+
+    private final Path storageDir;
+    private final Path cacheDir;
+    private final long cacheMaxBytes;
+    private final long renderTimeoutMs;
+    private final ThreadPoolExecutor workers;
+
+    // Disk cache index in access order, guarded by itself
+    private final LinkedHashMap<Path, Long> cached = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> rendering = new ConcurrentHashMap<>();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Output encodings, picked from ?format= or the Accept header
+     */
+    public enum OutputFormat {
+        WEBP("webp", "image/webp"), JPEG("jpg", "image/jpeg");
+
+        private final String extension;
+        private final String contentType;
+
+        OutputFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * WebP when asked for (or accepted) and an ImageIO WebP writer is installed, JPEG otherwise
+         */
+        public static OutputFormat negotiate(String format, String accept) {
+            boolean webp = format != null && !format.isBlank()
+                    ? format.trim().equalsIgnoreCase("webp")
+                    : accept != null && accept.contains("image/webp");
+            return webp && WEBP_SUPPORTED ? WEBP : JPEG;
+        }
+    }
+
+    /**
+     * A cached derivative ready to be sent
+     */
+    public record Derivative(Path file, long size, OutputFormat format) {
+
+        public String etag() {
+            return "\"" + file.getFileName() + "\"";
+        }
+    }
+
+    public ImageDerivativeService(@Value("${books.images.storage-dir:./storage/images}") String storageDir,
+                                  @Value("${books.images.cache-dir:./storage/image-cache}") String cacheDir,
+                                  @Value("${books.images.cache-max-bytes:536870912}") long cacheMaxBytes,
+                                  @Value("${books.images.workers:2}") int workers,
+                                  @Value("${books.images.queue-capacity:16}") int queueCapacity,
+                                  @Value("${books.images.render-timeout-ms:10000}") long renderTimeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.storageDir = Path.of(storageDir).toAbsolutePath().normalize();
+        this.cacheDir = Path.of(cacheDir).toAbsolutePath().normalize();
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.renderTimeoutMs = renderTimeoutMs;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-render-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("images.cache.bytes", this, service -> service.cacheBytes())
+                .description("Bytes of image derivatives on disk")
+                .register(meterRegistry);
+        Gauge.builder("images.render.queued", this.workers, pool -> pool.getQueue().size())
+                .description("Image derivatives waiting for a render worker")
+                .register(meterRegistry);
+        FunctionCounter.builder("images.render.completed", rendered, AtomicLong::get)
+                .description("Image derivatives rendered")
+                .register(meterRegistry);
+        FunctionCounter.builder("images.render.rejected", rejected, AtomicLong::get)
+                .description("Image requests refused because the render queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create the directories and index derivatives left by a previous run (oldest first)
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(storageDir);
+        Files.createDirectories(cacheDir);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(cacheDir)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<Path> existing = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                Files.deleteIfExists(file);
+            } else {
+                existing.add(file);
+            }
+        }
+        existing.sort(Comparator.comparingLong(ImageDerivativeService::lastModified));
+        existing.forEach(file -> index(file, size(file)));
+        log.info("🖼️ Image cache at {}: {} derivatives, {} bytes", cacheDir, existing.size(), cacheBytes());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Derivative of an original, rendering it if it is not cached yet.
+     *
+     * @param path  original, relative to the storage directory
+     * @return empty if the original does not exist
+     * @throws IllegalArgumentException for an unsupported width or an unreadable original
+     * @throws RejectedExecutionException if the render queue is full or the render timed out
+     */
+    public Optional<Derivative> getDerivative(String path, int width, OutputFormat format) throws IOException {
+        if (!WIDTHS.contains(width)) {
+            throw new IllegalArgumentException("Largura inválida: use " + WIDTHS);
+        }
+        Path original = resolveOriginal(path);
+        if (original == null || !Files.isRegularFile(original)) {
+            return Optional.empty();
+        }
+
+        Path target = cacheDir.resolve(derivativeName(original, width, format));
+        if (Files.isRegularFile(target)) {
+            touch(target);
+            return Optional.of(new Derivative(target, size(target), format));
+        }
+
+        CompletableFuture<Path> render;
+        try {
+            render = rendering.computeIfAbsent(target, key ->
+                    CompletableFuture.supplyAsync(() -> render(original, key, width, format), workers));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+        render.whenComplete((file, error) -> rendering.remove(target, render));
+
+        try {
+            Path file = render.get(renderTimeoutMs, TimeUnit.MILLISECONDS);
+            return Optional.of(new Derivative(file, size(file), format));
+        } catch (TimeoutException e) {
+            throw new RejectedExecutionException("Imagem ainda em processamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Pedido interrompido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException invalid) throw invalid;
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            throw new IOException("Erro ao gerar imagem", e.getCause());
+        }
+    }
+
+    /**
+     * Original under the storage directory, or null for paths that escape it
+     */
+    private Path resolveOriginal(String path) {
+        if (path == null) return null;
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        if (relative.isBlank()) return null;
+        Path resolved = storageDir.resolve(relative).normalize();
+        return resolved.startsWith(storageDir) ? resolved : null;
+    }
+
+    private String derivativeName(Path original, int width, OutputFormat format) throws IOException {
+        String source = storageDir.relativize(original) + "\n" + Files.getLastModifiedTime(original).toMillis();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + "-" + width + "." + format.extension;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ----- Rendering (worker threads) -----
+
+    private Path render(Path original, Path target, int width, OutputFormat format) {
+        try {
+            BufferedImage image = decode(original, width);
+            Path temp = Files.createTempFile(cacheDir, TEMP_PREFIX, "." + format.extension);
+            try {
+                encode(image, format, temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            index(target, size(target));
+            rendered.incrementAndGet();
+            log.debug("🖼️ Rendered {} at {}px ({})", original.getFileName(), width, format);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode the original scaled to the target width (never upscaled).
+     * Large originals are subsampled while decoding, so they are never held at full size.
+     */
+    private static BufferedImage decode(Path original, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Formato de imagem não suportado");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > MAX_SOURCE_PIXELS) {
+                    throw new IllegalArgumentException("Imagem original demasiado grande");
+                }
+
+                int targetWidth = Math.min(width, sourceWidth);
+                int targetHeight = Math.max(1, (int) Math.round(sourceHeight * (double) targetWidth / sourceWidth));
+
+                // Keep at least twice the target resolution for the final smooth scale
+                int step = Math.max(1, sourceWidth / (targetWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return scale(reader.read(0, param), targetWidth, targetHeight);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        // RGB on white: JPEG has no alpha, and transparent covers should not turn black
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void encode(BufferedImage image, OutputFormat format, Path file) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(format.contentType);
+        if (!writers.hasNext()) {
+            throw new IOException("Sem codificador para " + format.contentType);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (param.getCompressionType() == null && types != null && types.length > 0) {
+                    param.setCompressionType(types[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // ----- Disk cache index -----
+
+    private void touch(Path file) {
+        boolean known;
+        synchronized (cached) {
+            known = cached.get(file) != null;
+        }
+        if (!known) {
+            index(file, size(file));
+        }
+    }
+
+    /**
+     * Record a derivative and delete the least recently used ones beyond the size limit
+     */
+    private void index(Path file, long size) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (cached) {
+            Long previous = cached.put(file, size);
+            cachedBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<Path, Long>> eldest = cached.entrySet().iterator();
+            while (cachedBytes > cacheMaxBytes && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(file)) continue;
+                cachedBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (Path path : evicted) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete cached image {}: {}", path, e.getMessage());
+            }
+        }
+        if (!evicted.isEmpty()) {
+            log.debug("🧹 Evicted {} cached image derivatives", evicted.size());
+        }
+    }
+
+    private long cacheBytes() {
+        synchronized (cached) {
+            return cachedBytes;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
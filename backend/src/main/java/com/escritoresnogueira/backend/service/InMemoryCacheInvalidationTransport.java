@@ -0,0 +1,46 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport: events go straight to the subscribers after commit.
+ * Several buses sharing one instance behave like separate nodes (tests);
+ * on its own it suits a single-node deployment.
+ */
+@Service
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "in-memory")
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<CacheInvalidationBus.Event>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(CacheInvalidationBus.Event event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Rolled back changes never reach the subscribers, as with the outbox
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+        } else {
+            deliver(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationBus.Event> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(CacheInvalidationBus.Event event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+}
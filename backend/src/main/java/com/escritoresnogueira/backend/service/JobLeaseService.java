@@ -0,0 +1,62 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps a scheduled job to one node of the cluster at a time.
+ *
+ * A node runs a job only while it holds the job's row in job_leases. The lease
+ * is taken with a single upsert that succeeds when the row is missing, expired
+ * or already owned by this node (which renews it), and times are read from the
+ * database clock so node clock skew does not matter. A node that dies while
+ * holding a lease blocks the job only until the lease expires.
+ */
+@Slf4j
+@Service
+public class JobLeaseService {
+
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO job_leases (name, owner, lease_until) " +
+            "VALUES (?, ?, current_timestamp::TIMESTAMP + ? * INTERVAL '1 second') " +
+            "ON CONFLICT (name) DO UPDATE SET owner = excluded.owner, lease_until = excluded.lease_until " +
+            "WHERE job_leases.lease_until < current_timestamp::TIMESTAMP OR job_leases.owner = excluded.owner";
+    private static final String RELEASE_SQL =
+            "UPDATE job_leases SET lease_until = current_timestamp::TIMESTAMP WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take or renew the lease of a job for the given duration.
+     * Returns false when another node holds it (or the database is unavailable).
+     */
+    public boolean tryAcquire(String job, Duration lease) {
+        try {
+            return jdbcTemplate.update(ACQUIRE_SQL, job, owner, lease.toSeconds()) > 0;
+        } catch (DataAccessException e) {
+            log.debug("Could not acquire lease of {}: {}", job, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Give the lease back so another node can run the job right away
+     */
+    public void release(String job) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, job, owner);
+        } catch (DataAccessException e) {
+            log.debug("Could not release lease of {}: {}", job, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialize-once cache for public JSON responses.
+ *
+ * A response body is rendered to JSON bytes (plus a gzip variant) once and
+ * then written as-is on every request until the key is invalidated by an
+ * admin write. Uses the application's ObjectMapper, so the output is identical
+ * to what Spring MVC would have produced.
+ *
+ * The cache is an approximate LRU: each entry remembers when it was last read,
+ * and an insert beyond MAX_ENTRIES evicts the least recently read entry, so
+ * keys a crawler walks through once cannot crowd out the popular ones. A load
+ * that overlaps an invalidation is not kept, since it may have read the data
+ * from before the write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JsonResponseCache {
+
+    // Upper bound on cached responses (page/size/slug combinations are client controlled)
+    private static final int MAX_ENTRIES = 500;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, before the entries are removed
+    private final AtomicLong generation = new AtomicLong();
+    // Logical clock of reads, for the LRU order
+    private final AtomicLong clock = new AtomicLong();
+
+    private final class Entry {
+        private final SerializedJson json;
+        private volatile long lastRead = clock.incrementAndGet();
+
+        private Entry(SerializedJson json) {
+            this.json = json;
+        }
+    }
+
+    /**
+     * Pre-rendered JSON body in identity and gzip encodings
+     */
+    public record SerializedJson(byte[] identity, byte[] gzip) {}
+
+    /**
+     * Render a body to JSON bytes once (identity + gzip)
+     */
+    public SerializedJson render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new SerializedJson(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Return the cached rendering for a key, rendering it from the loader on a miss.
+     * Returns null (and caches nothing) when the loader returns null.
+     */
+    public SerializedJson get(String key, Supplier<Object> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            cached.lastRead = clock.incrementAndGet();
+            return cached.json;
+        }
+
+        long loadedAt = generation.get();
+        Object body = loader.get();
+        if (body == null) {
+            return null;
+        }
+        SerializedJson rendered = render(body);
+        if (generation.get() == loadedAt) {
+            Entry entry = new Entry(rendered);
+            entries.put(key, entry);
+            // An invalidation that ran between the check and the put would miss the entry
+            if (generation.get() != loadedAt) {
+                entries.remove(key, entry);
+            } else if (entries.size() > MAX_ENTRIES) {
+                evictLeastRecentlyRead();
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * Drop every cached response whose key starts with the prefix
+     */
+    public void invalidatePrefix(String prefix) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+        log.debug("🧹 Response cache invalidated for prefix: {}", prefix);
+    }
+
+    /**
+     * Build a response writing the pre-rendered bytes directly,
+     * gzip-encoded when the client accepts it.
+     */
+    public static ResponseEntity<byte[]> toResponse(SerializedJson json, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        byte[] body = gzip ? json.gzip() : json.identity();
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    private void evictLeastRecentlyRead() {
+        while (entries.size() > MAX_ENTRIES) {
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastRead < oldest.getValue().lastRead) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) return;
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,121 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.model.Order;
+import main.java.com.escritoresnogueira.backend.model.OrderItem;
+import main.java.com.escritoresnogueira.backend.repository.OrderRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Payment status transitions of orders and the counters that depend on them.
+ *
+ * When an order becomes PAID its units are added to the per-book sales
+ * counters, daily rollups and the buyer's stats in the same transaction; a
+ * refund of a paid order subtracts them again. The in-memory leaderboard is updated after commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private static final String SALES_COUNT_SQL = "UPDATE books SET sales_count = sales_count + ? WHERE id = ?";
+    private static final String DAILY_ROLLUP_SQL =
+            "INSERT INTO book_sales_daily (day, book_id, quantity) VALUES (?, ?, ?) " +
+            "ON CONFLICT (day, book_id) DO UPDATE SET quantity = book_sales_daily.quantity + excluded.quantity";
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BestsellerService bestsellerService;
+    private final UserStatsService userStatsService;
+
+    /**
+     * Mark an order as paid (idempotent)
+     */
+    @Transactional
+    public Order markPaid(Long orderId) {
+        Order order = findOrder(orderId);
+        if (order.getPaymentStatus() == Order.PaymentStatus.PAID) {
+            return order;
+        }
+
+        order.setPaymentStatus(Order.PaymentStatus.PAID);
+        order.setStatus(Order.OrderStatus.PAID);
+        Order saved = orderRepository.save(order);
+        applySales(saved, 1);
+
+        log.info("💳 Order {} marked as PAID", saved.getOrderNumber());
+        return saved;
+    }
+
+    /**
+     * Mark an order as refunded; units of a previously paid order are taken off the counters
+     */
+    @Transactional
+    public Order markRefunded(Long orderId) {
+        Order order = findOrder(orderId);
+        if (order.getPaymentStatus() == Order.PaymentStatus.REFUNDED) {
+            return order;
+        }
+
+        boolean wasPaid = order.getPaymentStatus() == Order.PaymentStatus.PAID;
+        order.setPaymentStatus(Order.PaymentStatus.REFUNDED);
+        order.setStatus(Order.OrderStatus.CANCELLED);
+        Order saved = orderRepository.save(order);
+        if (wasPaid) {
+            applySales(saved, -1);
+        }
+
+        log.info("↩️ Order {} marked as REFUNDED", saved.getOrderNumber());
+        return saved;
+    }
+
+    private Order findOrder(Long orderId) {
+        // Row lock held until commit: the status check and the counter updates
+        // of a transition cannot interleave with another transition of the order
+        return orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Encomenda não encontrada: " + orderId));
+    }
+
+    /**
+     * Add (sign 1) or subtract (sign -1) the order's units to the sales counters
+     */
+    private void applySales(Order order, int sign) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getBook().getId(), sign * item.getQuantity(), Integer::sum);
+        }
+        userStatsService.applyOrder(order, sign);
+        if (quantities.isEmpty()) return;
+
+        // Rollup day of the sale itself, so a refund lands in the same bucket
+        LocalDate day = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+
+        List<Object[]> counters = new ArrayList<>();
+        List<Object[]> rollups = new ArrayList<>();
+        quantities.forEach((bookId, quantity) -> {
+            counters.add(new Object[]{quantity, bookId});
+            rollups.add(new Object[]{Date.valueOf(day), bookId, quantity});
+        });
+        jdbcTemplate.batchUpdate(SALES_COUNT_SQL, counters);
+        jdbcTemplate.batchUpdate(DAILY_ROLLUP_SQL, rollups);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bestsellerService.recordSale(day, quantities);
+            }
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transactional outbox transport.
+ *
+ * {@link #send} inserts a row into {@code cache_invalidations} through the
+ * caller's transaction, so an invalidation is published exactly when its change
+ * commits. Every node polls the table at a fixed interval (the bound on how
+ * long another node can serve a stale entry) and hands new rows to the bus.
+ *
+ * Rows are stamped with the transaction start time, and a transaction may
+ * commit after a later-started one has already been read, so each poll re-reads
+ * an overlap window behind the newest row seen and skips ids it already
+ * delivered. Rows older than the retention period are purged.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "outbox", matchIfMissing = true)
+public class OutboxCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidations (id, topic, cache_key, origin, created_at) " +
+            "VALUES (nextval('default_sequence'), ?, ?, ?, current_timestamp::TIMESTAMP)";
+    private static final String NOW_SQL = "SELECT current_timestamp::TIMESTAMP";
+    private static final String POLL_SQL =
+            "SELECT id, topic, cache_key, origin, created_at FROM cache_invalidations " +
+            "WHERE created_at > ? ORDER BY created_at, id";
+    private static final String PURGE_SQL = "DELETE FROM cache_invalidations WHERE created_at < ?";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            rs.getObject("created_at", LocalDateTime.class),
+            new CacheInvalidationBus.Event(
+                    CacheInvalidationBus.Topic.valueOf(rs.getString("topic")),
+                    rs.getString("cache_key"),
+                    rs.getString("origin")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration overlap;
+    private final Duration retention;
+
+    private final List<Consumer<CacheInvalidationBus.Event>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this: newest created_at seen (database clock), ids delivered within the overlap window
+    private LocalDateTime watermark;
+    private final Map<Long, LocalDateTime> delivered = new HashMap<>();
+
+    private record Row(long id, LocalDateTime createdAt, CacheInvalidationBus.Event event) {}
+
+    public OutboxCacheInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                            @Value("${cache.invalidation.overlap-ms:30000}") long overlapMs,
+                                            @Value("${cache.invalidation.retention-ms:3600000}") long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.retention = Duration.ofMillis(retentionMs);
+    }
+
+    @Override
+    public void send(CacheInvalidationBus.Event event) {
+        jdbcTemplate.update(INSERT_SQL, event.topic().name(), event.key(), event.origin());
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidationBus.Event> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (listeners.isEmpty()) return;
+        try {
+            if (watermark == null) {
+                // Start from now: every cache is loaded from the database after startup anyway
+                watermark = jdbcTemplate.queryForObject(NOW_SQL, LocalDateTime.class);
+                return;
+            }
+
+            List<Row> rows = jdbcTemplate.query(POLL_SQL, ROW_MAPPER, Timestamp.valueOf(watermark.minus(overlap)));
+            for (Row row : rows) {
+                if (delivered.putIfAbsent(row.id(), row.createdAt()) != null) continue;
+                if (row.createdAt().isAfter(watermark)) {
+                    watermark = row.createdAt();
+                }
+                listeners.forEach(listener -> listener.accept(row.event()));
+            }
+
+            LocalDateTime horizon = watermark.minus(overlap);
+            delivered.values().removeIf(createdAt -> createdAt.isBefore(horizon));
+        } catch (DataAccessException e) {
+            log.warn("Could not poll cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval-ms:600000}",
+            initialDelayString = "${cache.invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            LocalDateTime now = jdbcTemplate.queryForObject(NOW_SQL, LocalDateTime.class);
+            int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(now.minus(retention)));
+            if (purged > 0) {
+                log.debug("🧹 Purged {} old cache invalidations", purged);
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not purge cache invalidations: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text analysis for the search index: lower-casing, accent folding,
+ * Portuguese stop words and a light suffix-stripping stemmer.
+ *
+ * The stemmer only needs to be consistent between indexing and querying,
+ * so it strips plurals and a few very common derivational suffixes rather
+ * than implementing a full morphological stemmer.
+ */
+public final class PortugueseAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern HTML_TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "ao", "aos", "aquela", "aquelas", "aquele", "aqueles", "aquilo", "as", "ate",
+            "com", "como", "da", "das", "de", "dela", "delas", "dele", "deles", "depois", "do", "dos",
+            "e", "ela", "elas", "ele", "eles", "em", "entre", "essa", "essas", "esse", "esses", "esta",
+            "estas", "este", "estes", "eu", "isso", "isto", "ja", "lhe", "lhes", "mais", "mas", "me",
+            "mesmo", "meu", "meus", "minha", "minhas", "muito", "na", "nao", "nas", "nem", "no", "nos",
+            "nossa", "nossas", "nosso", "nossos", "num", "numa", "o", "os", "ou", "para", "pela",
+            "pelas", "pelo", "pelos", "por", "qual", "quando", "que", "quem", "se", "sem", "seu",
+            "seus", "so", "sua", "suas", "tambem", "te", "teu", "teus", "tu", "tua", "tuas", "um",
+            "uma", "voce", "voces", "vos");
+
+    // Derivational suffixes, longest first; only stripped when a stem of 4+ chars remains
+    private static final String[] SUFFIXES = {
+            "amentos", "imentos", "amento", "imento", "mente", "acoes", "icoes", "acao", "icao",
+            "zinhos", "zinhas", "zinho", "zinha", "inhos", "inhas", "inho", "inha",
+            "issimo", "issima", "idade", "ista", "ismo", "avel", "ivel"
+    };
+
+    private PortugueseAnalyzer() {
+    }
+
+    /**
+     * Lower-case and strip accents ("Ficção" → "ficcao")
+     */
+    public static String fold(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Remove HTML tags and the most common entities, leaving plain text
+     */
+    public static String stripHtml(String html) {
+        if (html == null) return "";
+        return HTML_TAGS.matcher(html).replaceAll(" ")
+                .replace("&nbsp;", " ")
+                .replace("&amp;", "&")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">");
+    }
+
+    /**
+     * Split text into folded, stemmed terms without stop words
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) return terms;
+        for (String token : NON_ALPHANUMERIC.split(fold(text))) {
+            if (token.isEmpty() || STOP_WORDS.contains(token)) continue;
+            terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    /**
+     * Light Portuguese stemmer on an already folded token
+     */
+    static String stem(String token) {
+        if (token.length() <= 3 || Character.isDigit(token.charAt(0))) {
+            return token;
+        }
+        String word = stripPlural(token);
+        for (String suffix : SUFFIXES) {
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= 4) {
+                return word.substring(0, word.length() - suffix.length());
+            }
+        }
+        // Gender/number vowel: "livro"/"livra", "romance"/"romances"
+        if (word.length() > 4) {
+            char last = word.charAt(word.length() - 1);
+            if (last == 'a' || last == 'o' || last == 'e') {
+                return word.substring(0, word.length() - 1);
+            }
+        }
+        return word;
+    }
+
+    private static String stripPlural(String word) {
+        if (word.endsWith("oes") || word.endsWith("aes")) return word.substring(0, word.length() - 3) + "ao";
+        if (word.endsWith("ais")) return word.substring(0, word.length() - 3) + "al";
+        if (word.endsWith("eis")) return word.substring(0, word.length() - 3) + "el";
+        if (word.endsWith("ois")) return word.substring(0, word.length() - 3) + "ol";
+        if (word.endsWith("res") || word.endsWith("zes")) return word.substring(0, word.length() - 2);
+        if (word.endsWith("ns")) return word.substring(0, word.length() - 2) + "m";
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
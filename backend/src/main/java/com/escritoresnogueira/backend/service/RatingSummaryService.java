@@ -0,0 +1,136 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.RatingSummaryDTO;
+import main.java.com.escritoresnogueira.backend.model.BookRatingSummary;
+import main.java.com.escritoresnogueira.backend.repository.BookRatingSummaryRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Per-book rating aggregates (count, sum and 1-5 star histogram) kept up to
+ * date by the comment moderation actions with SQL increments, so the rating
+ * of a book is one primary-key read instead of an aggregate over its comments.
+ *
+ * A book's row is seeded from its approved comments the first time a
+ * moderation action changes its rating, which also covers comments approved
+ * before the aggregates existed. Reads never write: a book without a row gets
+ * its summary computed from the comments.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingSummaryService {
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM book_rating_summary WHERE book_id = ?";
+
+    // Aggregates of a book's approved comments; SUM is NULL over no rows, hence the COALESCEs
+    static final String AGGREGATE_SQL =
+            "SELECT ? AS book_id, COUNT(*) AS rating_count, COALESCE(SUM(rating), 0) AS rating_sum, " +
+            "COALESCE(SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), 0) AS stars_1, " +
+            "COALESCE(SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), 0) AS stars_2, " +
+            "COALESCE(SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), 0) AS stars_3, " +
+            "COALESCE(SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), 0) AS stars_4, " +
+            "COALESCE(SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), 0) AS stars_5 " +
+            "FROM book_comments WHERE book_id = ? AND status = 'approved'";
+
+    static final String SEED_SQL =
+            "INSERT INTO book_rating_summary (book_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) " +
+            AGGREGATE_SQL + " ON CONFLICT (book_id) DO NOTHING";
+
+    private static final RowMapper<BookRatingSummary> SUMMARY_MAPPER = (rs, rowNum) -> BookRatingSummary.builder()
+            .bookId(rs.getLong("book_id"))
+            .ratingCount(rs.getLong("rating_count"))
+            .ratingSum(rs.getLong("rating_sum"))
+            .stars1(rs.getLong("stars_1"))
+            .stars2(rs.getLong("stars_2"))
+            .stars3(rs.getLong("stars_3"))
+            .stars4(rs.getLong("stars_4"))
+            .stars5(rs.getLong("stars_5"))
+            .build();
+
+    // %s is the star column of the rating (whitelisted, see starColumn)
+    private static final String INCREMENT_SQL =
+            "UPDATE book_rating_summary SET rating_count = rating_count + ?, rating_sum = rating_sum + ?, " +
+            "%1$s = %1$s + ? WHERE book_id = ? RETURNING rating_count, rating_sum";
+
+    // updated_at moves too: it feeds the catalog validators (ContentVersionService)
+    private static final String SYNC_BOOK_SQL = "UPDATE books SET rating = ?, review_count = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookRatingSummaryRepository bookRatingSummaryRepository;
+    private final BookRepository bookRepository;
+    private final BookCatalogService bookCatalogService;
+
+    /**
+     * Rating summary of a book (zeros when it has no approved comments).
+     * One primary-key read; books never moderated since the aggregates exist
+     * are computed from their comments without storing the result.
+     */
+    public RatingSummaryDTO getSummary(Long bookId) {
+        BookRatingSummary summary = bookRatingSummaryRepository.findById(bookId)
+                .orElseGet(() -> jdbcTemplate.queryForObject(AGGREGATE_SQL, SUMMARY_MAPPER, bookId, bookId));
+        return RatingSummaryDTO.fromEntity(summary);
+    }
+
+    /**
+     * Add (delta 1) or remove (delta -1) one approved rating.
+     * Must run in the moderation action's transaction, before its own changes are flushed.
+     */
+    public void applyChange(Long bookId, int rating, int delta) {
+        if (bookId == null || rating < 1 || rating > 5 || delta == 0) return;
+        ensureSeeded(bookId);
+
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                String.format(INCREMENT_SQL, starColumn(rating)), delta, delta * rating, delta, bookId);
+        long count = ((Number) totals.get("rating_count")).longValue();
+        long sum = ((Number) totals.get("rating_sum")).longValue();
+
+        // Keep the denormalized columns shown in the catalog in sync
+        jdbcTemplate.update(SYNC_BOOK_SQL, count > 0 ? RatingSummaryDTO.average(sum, count) : null, (int) count,
+                Timestamp.valueOf(LocalDateTime.now()), bookId);
+        refreshCatalogAfterCommit(bookId);
+    }
+
+    private void ensureSeeded(Long bookId) {
+        Long rows = jdbcTemplate.queryForObject(EXISTS_SQL, Long.class, bookId);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update(SEED_SQL, bookId, bookId);
+            log.debug("⭐ Rating summary seeded for book {}", bookId);
+        }
+    }
+
+    private void refreshCatalogAfterCommit(Long bookId) {
+        Runnable refresh = () -> bookRepository.findById(bookId).ifPresent(bookCatalogService::onBookSaved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+        } else {
+            refresh.run();
+        }
+    }
+
+    private static String starColumn(int rating) {
+        return switch (rating) {
+            case 1 -> "stars_1";
+            case 2 -> "stars_2";
+            case 3 -> "stars_3";
+            case 4 -> "stars_4";
+            case 5 -> "stars_5";
+            default -> throw new IllegalArgumentException("Classificação deve ser entre 1 e 5");
+        };
+    }
+}
@@ -0,0 +1,261 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.BookCardDTO;
+import main.java.com.escritoresnogueira.backend.model.Book;
+import main.java.com.escritoresnogueira.backend.model.Order;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import main.java.com.escritoresnogueira.backend.repository.OrderItemRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed "related books" index.
+ *
+ * Keeps the top-K most similar active books per book, scored from a shared
+ * category, the same author, shared genres and how often two books were bought
+ * in the same paid order. Reads are a map lookup; a book change only rescores
+ * that book against the others instead of rebuilding the whole index.
+ * Co-purchase counts are reloaded by a periodic full rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelatedBooksService {
+
+    // Neighbours kept per book (upper bound for the endpoint limit)
+    public static final int MAX_NEIGHBOURS = 12;
+
+    private static final double CATEGORY_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 4.0;
+    private static final double GENRE_WEIGHT = 2.0;
+    private static final double CO_PURCHASE_WEIGHT = 2.5;
+
+    // Best score first, ties by id so the order is stable
+    private static final Comparator<Neighbour> ORDER = Comparator.comparingDouble(Neighbour::score).reversed()
+            .thenComparing(Neighbour::bookId);
+
+    private final BookRepository bookRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final BookCatalogService bookCatalogService;
+
+    // Readers only touch this map; values are immutable lists
+    private final ConcurrentHashMap<Long, List<Neighbour>> neighbours = new ConcurrentHashMap<>();
+
+    // Guarded by "this"
+    private final Map<Long, Features> features = new HashMap<>();
+    private Map<Long, Map<Long, Long>> coPurchases = Map.of();
+    private volatile boolean loaded;
+    // Hash of the neighbours of the last full rebuild; equal on nodes that rebuilt from the same data
+    private volatile long indexVersion;
+
+    /**
+     * A related book and its similarity score
+     */
+    record Neighbour(Long bookId, double score) {}
+
+    /**
+     * Folded similarity features of one book
+     */
+    record Features(String category, String author, Set<String> genres) {
+
+        static Features of(Book book) {
+            Set<String> genres = book.getGenres() == null ? Set.of() : Arrays.stream(book.getGenres().split("[,;/|]"))
+                    .map(PortugueseAnalyzer::fold)
+                    .map(String::trim)
+                    .filter(genre -> !genre.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+            return new Features(PortugueseAnalyzer.fold(book.getCategory()).trim(),
+                    PortugueseAnalyzer.fold(book.getAuthor()).trim(), genres);
+        }
+    }
+
+    /**
+     * Related active books, best match first
+     */
+    public List<BookCardDTO> getRelatedBooks(Long bookId, int limit) {
+        ensureLoaded();
+        List<Neighbour> related = neighbours.getOrDefault(bookId, List.of());
+        return related.stream()
+                .map(neighbour -> bookCatalogService.findCardById(neighbour.bookId()))
+                .flatMap(Optional::stream)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Version of the index for validators of related-book responses: a rebuild
+     * can change the neighbours (new purchases) without any book row changing
+     */
+    public long getIndexVersion() {
+        ensureLoaded();
+        return indexVersion;
+    }
+
+    /**
+     * Rescore a created/updated book against the rest of the catalog.
+     * Inactive books are removed from the index.
+     */
+    public synchronized void onBookSaved(Book book) {
+        if (!loaded || book == null || book.getId() == null) return;
+        if (!book.isActive()) {
+            onBookDeleted(book.getId());
+            return;
+        }
+
+        Long id = book.getId();
+        features.put(id, Features.of(book));
+        neighbours.put(id, topNeighbours(id));
+
+        for (Long other : features.keySet()) {
+            if (other.equals(id)) continue;
+            List<Neighbour> current = neighbours.getOrDefault(other, List.of());
+            boolean contained = current.stream().anyMatch(n -> n.bookId().equals(id));
+            if (contained && current.size() == MAX_NEIGHBOURS) {
+                // The book may have dropped below a candidate that is not in the list
+                neighbours.put(other, topNeighbours(other));
+            } else {
+                neighbours.put(other, merge(current, id, score(other, id)));
+            }
+        }
+    }
+
+    /**
+     * Remove a deleted/deactivated book from the index
+     */
+    public synchronized void onBookDeleted(Long id) {
+        if (!loaded || id == null || features.remove(id) == null) return;
+        neighbours.remove(id);
+
+        for (Map.Entry<Long, List<Neighbour>> entry : neighbours.entrySet()) {
+            List<Neighbour> current = entry.getValue();
+            if (current.stream().noneMatch(n -> n.bookId().equals(id))) continue;
+            // A full list may have a replacement candidate outside it
+            entry.setValue(current.size() == MAX_NEIGHBOURS
+                    ? topNeighbours(entry.getKey())
+                    : current.stream().filter(n -> !n.bookId().equals(id)).toList());
+        }
+    }
+
+    /**
+     * Rebuild the whole index, reloading co-purchase counts from paid orders
+     */
+    public synchronized void rebuild() {
+        features.clear();
+        for (Book book : bookRepository.findByActiveTrue()) {
+            features.put(book.getId(), Features.of(book));
+        }
+        coPurchases = loadCoPurchases();
+
+        Map<Long, List<Neighbour>> rebuilt = new HashMap<>();
+        for (Long id : features.keySet()) {
+            rebuilt.put(id, topNeighbours(id));
+        }
+
+        neighbours.keySet().retainAll(rebuilt.keySet());
+        neighbours.putAll(rebuilt);
+        indexVersion = rebuilt.hashCode();
+        loaded = true;
+        log.info("🔗 Related books index built for {} books", rebuilt.size());
+    }
+
+    /**
+     * Periodic rebuild so new purchases are reflected in the neighbours
+     */
+    @Scheduled(fixedDelayString = "${books.related.rebuild-interval-ms:3600000}",
+            initialDelayString = "${books.related.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        if (loaded) {
+            rebuild();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private List<Neighbour> topNeighbours(Long id) {
+        List<Neighbour> candidates = new ArrayList<>();
+        for (Long other : features.keySet()) {
+            if (other.equals(id)) continue;
+            double score = score(id, other);
+            if (score > 0) {
+                candidates.add(new Neighbour(other, score));
+            }
+        }
+        candidates.sort(ORDER);
+        return List.copyOf(candidates.subList(0, Math.min(MAX_NEIGHBOURS, candidates.size())));
+    }
+
+    /**
+     * Replace one candidate in a neighbour list and keep the best MAX_NEIGHBOURS
+     */
+    private static List<Neighbour> merge(List<Neighbour> current, Long candidate, double score) {
+        List<Neighbour> merged = new ArrayList<>(current.size() + 1);
+        for (Neighbour neighbour : current) {
+            if (!neighbour.bookId().equals(candidate)) {
+                merged.add(neighbour);
+            }
+        }
+        if (score > 0) {
+            merged.add(new Neighbour(candidate, score));
+        }
+        merged.sort(ORDER);
+        return List.copyOf(merged.subList(0, Math.min(MAX_NEIGHBOURS, merged.size())));
+    }
+
+    private double score(Long a, Long b) {
+        Features fa = features.get(a);
+        Features fb = features.get(b);
+        double score = 0;
+        if (!fa.category().isEmpty() && fa.category().equals(fb.category())) {
+            score += CATEGORY_WEIGHT;
+        }
+        if (!fa.author().isEmpty() && fa.author().equals(fb.author())) {
+            score += AUTHOR_WEIGHT;
+        }
+        for (String genre : fa.genres()) {
+            if (fb.genres().contains(genre)) {
+                score += GENRE_WEIGHT;
+            }
+        }
+        long bought = coPurchases.getOrDefault(a, Map.of()).getOrDefault(b, 0L);
+        if (bought > 0) {
+            // Diminishing returns so a few bestsellers don't dominate everything
+            score += CO_PURCHASE_WEIGHT * Math.log1p(bought);
+        }
+        return score;
+    }
+
+    private Map<Long, Map<Long, Long>> loadCoPurchases() {
+        Map<Long, Map<Long, Long>> counts = new HashMap<>();
+        for (Object[] row : orderItemRepository.findCoPurchaseCounts(Order.PaymentStatus.PAID)) {
+            Long first = (Long) row[0];
+            Long second = (Long) row[1];
+            Long count = ((Number) row[2]).longValue();
+            if (Objects.equals(first, second)) continue;
+            counts.computeIfAbsent(first, k -> new HashMap<>()).put(second, count);
+            counts.computeIfAbsent(second, k -> new HashMap<>()).put(first, count);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,302 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.SearchResultDTO;
+import main.java.com.escritoresnogueira.backend.model.BlogPost;
+import main.java.com.escritoresnogueira.backend.model.Book;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded inverted index over active books and published blog posts.
+ *
+ * Text is analyzed with {@link PortugueseAnalyzer} (accent folding, stop words,
+ * light stemming) and hits are ranked with BM25, with title/author matches
+ * weighted above body text. The index is built from the database on first use
+ * and then updated incrementally by the admin controllers, so queries never
+ * touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    public static final String TYPE_BOOK = "book";
+    public static final String TYPE_POST = "post";
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field weights (a title term counts as 3 occurrences of a body term)
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+
+    // Max number of index terms a partial last query word expands to
+    private static final int MAX_PREFIX_EXPANSIONS = 20;
+
+    // Hyphen between ISBN digits ("978-972-..."), removed from queries before analysis
+    private static final Pattern ISBN_HYPHEN = Pattern.compile("(?<=[0-9])-(?=[0-9Xx])");
+
+    private final BookRepository bookRepository;
+    private final BlogPostRepository blogPostRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexedDoc> docs = new HashMap<>();
+    private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+    private volatile boolean loaded;
+    // Bumped by every incremental update (even before the first load), so a rebuild
+    // whose database read overlapped one reads again instead of dropping it
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * An indexed document with its weighted term frequencies
+     */
+    private record IndexedDoc(String type, Long id, String slug, String title, String subtitle,
+                              String image, BigDecimal price, Map<String, Integer> terms, int length) {}
+
+    /**
+     * Ranked search over books and posts.
+     *
+     * @param type optional filter: "book" or "post"
+     */
+    public List<SearchResultDTO> search(String query, String type, int limit) {
+        // The analyzer splits on hyphens, so join printed ISBNs into the indexed form first
+        List<String> terms = PortugueseAnalyzer.analyze(query != null ? ISBN_HYPHEN.matcher(query).replaceAll("") : null);
+        if (terms.isEmpty()) return List.of();
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            if (docCount == 0) return List.of();
+            double avgLength = (double) totalLength / docCount;
+
+            Map<String, Double> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                for (String term : expand(terms.get(i), last)) {
+                    Map<String, Integer> postingList = postings.get(term);
+                    if (postingList == null) continue;
+                    double idf = Math.log(1 + (docCount - postingList.size() + 0.5) / (postingList.size() + 0.5));
+                    for (Map.Entry<String, Integer> posting : postingList.entrySet()) {
+                        IndexedDoc doc = docs.get(posting.getKey());
+                        if (type != null && !type.equals(doc.type())) continue;
+                        double tf = posting.getValue();
+                        double norm = tf + K1 * (1 - B + B * doc.length() / avgLength);
+                        scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                    }
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(entry -> toResult(docs.get(entry.getKey()), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a book; inactive books are removed from the index
+     */
+    public void indexBook(Book book) {
+        if (book == null || book.getId() == null) return;
+        changes.incrementAndGet();
+        if (!loaded) return;
+        String key = TYPE_BOOK + ":" + book.getId();
+        if (!book.isActive()) {
+            remove(key);
+            return;
+        }
+        put(key, toDoc(book));
+    }
+
+    public void removeBook(Long id) {
+        changes.incrementAndGet();
+        if (loaded) remove(TYPE_BOOK + ":" + id);
+    }
+
+    /**
+     * Add or replace a blog post; unpublished posts are removed from the index
+     */
+    public void indexPost(BlogPost post) {
+        if (post == null || post.getId() == null) return;
+        changes.incrementAndGet();
+        if (!loaded) return;
+        String key = TYPE_POST + ":" + post.getId();
+        if (!post.isPublished()) {
+            remove(key);
+            return;
+        }
+        put(key, toDoc(post));
+    }
+
+    public void removePost(Long id) {
+        changes.incrementAndGet();
+        if (loaded) remove(TYPE_POST + ":" + id);
+    }
+
+    /**
+     * Rebuild the whole index from the database. Reads again when an
+     * incremental update arrived during the read, since the rows read may
+     * predate it; updates after the swap queue on the write lock.
+     */
+    public void rebuild() {
+        while (true) {
+            long seen = changes.get();
+            List<Book> books = bookRepository.findByActiveTrue();
+            List<BlogPost> posts = blogPostRepository.findByPublishedTrue();
+
+            lock.writeLock().lock();
+            try {
+                if (changes.get() != seen) {
+                    log.debug("🔎 Search index changed during rebuild, reading again");
+                    continue;
+                }
+                docs.clear();
+                postings.clear();
+                totalLength = 0;
+                books.forEach(book -> put(TYPE_BOOK + ":" + book.getId(), toDoc(book)));
+                posts.forEach(post -> put(TYPE_POST + ":" + post.getId(), toDoc(post)));
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("🔎 Search index built with {} books and {} posts", books.size(), posts.size());
+            return;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Exact term, plus index terms starting with it when it is the last
+     * (possibly still being typed) word of the query
+     */
+    private List<String> expand(String term, boolean prefix) {
+        if (!prefix || term.length() < 3) return List.of(term);
+        List<String> expanded = new ArrayList<>();
+        expanded.add(term);
+        for (String candidate : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+            if (expanded.size() > MAX_PREFIX_EXPANSIONS) break;
+            expanded.add(candidate);
+        }
+        return expanded;
+    }
+
+    private void put(String key, IndexedDoc doc) {
+        lock.writeLock().lock();
+        try {
+            remove(key);
+            docs.put(key, doc);
+            totalLength += doc.length();
+            doc.terms().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            IndexedDoc previous = docs.remove(key);
+            if (previous == null) return;
+            totalLength -= previous.length();
+            for (String term : previous.terms().keySet()) {
+                Map<String, Integer> postingList = postings.get(term);
+                if (postingList != null) {
+                    postingList.remove(key);
+                    if (postingList.isEmpty()) postings.remove(term);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static IndexedDoc toDoc(Book book) {
+        Map<String, Integer> terms = new HashMap<>();
+        int length = addTerms(terms, book.getTitle(), TITLE_WEIGHT)
+                + addTerms(terms, book.getAuthor(), AUTHOR_WEIGHT)
+                + addTerms(terms, book.getGenres(), TAG_WEIGHT)
+                + addTerms(terms, book.getCategory(), BODY_WEIGHT)
+                + addTerms(terms, book.getDescription(), BODY_WEIGHT);
+        if (book.getIsbn() != null && !book.getIsbn().isBlank()) {
+            // Indexed without hyphens; search() strips them from ISBNs in queries
+            length += addTerms(terms, book.getIsbn().replace("-", ""), TITLE_WEIGHT);
+        }
+        String image = book.getCoverUrl() != null ? book.getCoverUrl() : book.getCoverImage();
+        return new IndexedDoc(TYPE_BOOK, book.getId(), book.getSlug(), book.getTitle(), book.getAuthor(),
+                image, book.getPrice(), terms, Math.max(length, 1));
+    }
+
+    private static IndexedDoc toDoc(BlogPost post) {
+        String plainContent = PortugueseAnalyzer.stripHtml(post.getContent());
+        Map<String, Integer> terms = new HashMap<>();
+        int length = addTerms(terms, post.getTitle(), TITLE_WEIGHT)
+                + addTerms(terms, post.getExcerpt(), AUTHOR_WEIGHT)
+                + addTerms(terms, post.getCategoryName(), BODY_WEIGHT)
+                + addTerms(terms, post.getAuthor(), BODY_WEIGHT)
+                + addTerms(terms, plainContent, BODY_WEIGHT);
+        String subtitle = post.getExcerpt() != null && !post.getExcerpt().isBlank()
+                ? post.getExcerpt()
+                : abbreviate(plainContent.trim().replaceAll("\\s+", " "), 160);
+        return new IndexedDoc(TYPE_POST, post.getId(), post.getSlug(), post.getTitle(), subtitle,
+                post.getFeaturedImage(), null, terms, Math.max(length, 1));
+    }
+
+    /**
+     * Add weighted terms of one field; returns the weighted field length
+     */
+    private static int addTerms(Map<String, Integer> terms, String text, int weight) {
+        List<String> analyzed = PortugueseAnalyzer.analyze(text);
+        for (String term : analyzed) {
+            terms.merge(term, weight, Integer::sum);
+        }
+        return analyzed.size() * weight;
+    }
+
+    private static String abbreviate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max).trim() + "…";
+    }
+
+    private static SearchResultDTO toResult(IndexedDoc doc, double score) {
+        return SearchResultDTO.builder()
+                .type(doc.type())
+                .id(doc.id())
+                .slug(doc.slug())
+                .title(doc.title())
+                .subtitle(doc.subtitle())
+                .image(doc.image())
+                .price(doc.price())
+                .score(Math.round(score * 1000) / 1000.0)
+                .build();
+    }
+}
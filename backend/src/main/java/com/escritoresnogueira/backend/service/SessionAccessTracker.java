@@ -0,0 +1,133 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for user_sessions.last_accessed_at.
+ *
+ * Every validated request records its time in memory per session id (the
+ * latest time wins), and a flush writes the buffered times as one multi-row
+ * {@code UPDATE ... FROM (VALUES ...)} per chunk. Requests never write to
+ * user_sessions, so parallel requests of one user cannot conflict, and a
+ * session costs at most one row update per flush interval. The update only
+ * moves last_accessed_at forward, so flushes from several nodes can overlap.
+ */
+@Slf4j
+@Service
+public class SessionAccessTracker {
+
+    // Rows per UPDATE statement (two bind parameters each)
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String UPDATE_PREFIX =
+            "UPDATE user_sessions AS s SET last_accessed_at = v.accessed_at FROM (VALUES ";
+    private static final String UPDATE_SUFFIX =
+            ") AS v(id, accessed_at) WHERE s.id = v.id "
+            + "AND (s.last_accessed_at IS NULL OR s.last_accessed_at < v.accessed_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicLong flushedTotal = new AtomicLong();
+
+    public SessionAccessTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("sessions.access.buffered", pending, Map::size)
+                .description("Sessions with a last access time waiting to be flushed")
+                .register(meterRegistry);
+        FunctionCounter.builder("sessions.access.flushed", flushedTotal, AtomicLong::get)
+                .description("Session last access times written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an access to a session (memory only)
+     */
+    public void touch(Long sessionId) {
+        if (sessionId == null) return;
+        merge(sessionId, LocalDateTime.now());
+    }
+
+    /**
+     * Latest access recorded on this node and not flushed yet, or null
+     */
+    public LocalDateTime pendingAccess(Long sessionId) {
+        return pending.get(sessionId);
+    }
+
+    /**
+     * Write buffered access times to the database
+     */
+    @Scheduled(fixedDelayString = "${session.last-access.flush-interval-ms:30000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Long sessionId : pending.keySet()) {
+            LocalDateTime accessedAt = pending.remove(sessionId);
+            if (accessedAt != null) {
+                rows.add(new Object[]{sessionId, accessedAt});
+            }
+        }
+
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+            try {
+                jdbcTemplate.update(updateSql(chunk.size()), bindArgs(chunk));
+                flushedTotal.addAndGet(chunk.size());
+            } catch (Exception e) {
+                // Put the times back (unless newer ones arrived) so they are retried on the next flush
+                for (Object[] row : chunk) {
+                    merge((Long) row[0], (LocalDateTime) row[1]);
+                }
+                log.warn("Could not flush session access times: {}", e.getMessage());
+            }
+        }
+        log.debug("🔒 Flushed last access of {} sessions", rows.size());
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("🔒 Draining {} buffered session access times", pending.size());
+        flush();
+    }
+
+    private void merge(Long sessionId, LocalDateTime accessedAt) {
+        pending.merge(sessionId, accessedAt, (current, latest) -> latest.isAfter(current) ? latest : current);
+    }
+
+    private static String updateSql(int rows) {
+        StringBuilder sql = new StringBuilder(UPDATE_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(?::INT8, ?::TIMESTAMP)");
+        }
+        return sql.append(UPDATE_SUFFIX).toString();
+    }
+
+    private static Object[] bindArgs(List<Object[]> rows) {
+        Object[] args = new Object[rows.size() * 2];
+        int i = 0;
+        for (Object[] row : rows) {
+            args[i++] = row[0];
+            args[i++] = Timestamp.valueOf((LocalDateTime) row[1]);
+        }
+        return args;
+    }
+}
@@ -0,0 +1,190 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.service.UserSessionService.SessionPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Near-cache of validated sessions, so most authenticated requests are
+ * answered without reading user_sessions/users.
+ *
+ * Entries are keyed by the SHA-256 of the token (the key of SESSION
+ * invalidations) and hold an immutable {@link SessionPrincipal}. An entry is
+ * served for at most ttl-seconds and never past the session's expiresAt.
+ * Lookups take no lock: the map is a ConcurrentHashMap kept as an approximate
+ * LRU, where each entry remembers when it was last read and an insert beyond
+ * max-entries trims expired and least recently read entries in one pass
+ * (down to 90% of the bound, so the scan is rare). Logout
+ * everywhere, account deletion and extension evict entries once their
+ * transaction commits, on this node directly and on the others through the
+ * {@link CacheInvalidationBus}.
+ */
+@Slf4j
+@Service
+public class SessionCache {
+
+    // Share of max-entries left after a trim
+    private static final double EVICT_TO = 0.9;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every eviction, before the entries are removed; a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    // Logical clock of reads, for the LRU order
+    private final AtomicLong clock = new AtomicLong();
+    // One trim at a time; other inserts do not wait for it
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final class Entry {
+        private final SessionPrincipal principal;
+        private final long cachedUntil;
+        private volatile long lastRead = clock.incrementAndGet();
+
+        private Entry(SessionPrincipal principal, long cachedUntil) {
+            this.principal = principal;
+            this.cachedUntil = cachedUntil;
+        }
+    }
+
+    public SessionCache(CacheInvalidationBus cacheInvalidationBus,
+                        MeterRegistry meterRegistry,
+                        @Value("${session.cache.ttl-seconds:60}") long ttlSeconds,
+                        @Value("${session.cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.SESSION, this::evict);
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.Topic.USER_SESSIONS,
+                firebaseUid -> evictWhere(principal -> firebaseUid.equals(principal.firebaseUid())));
+
+        Gauge.builder("sessions.cache.size", this, SessionCache::size)
+                .description("Sessions held in the validation near-cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("sessions.cache.hits", hits, AtomicLong::get)
+                .description("Session validations served from memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("sessions.cache.misses", misses, AtomicLong::get)
+                .description("Session validations that read the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached principal of a token key, or null (counted as a miss)
+     */
+    public SessionPrincipal get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.cachedUntil > System.currentTimeMillis()) {
+                entry.lastRead = clock.incrementAndGet();
+                hits.incrementAndGet();
+                return entry.principal;
+            }
+            entries.remove(key, entry);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Generation to pass to {@link #put}; read it before loading the session
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a principal loaded from the database, unless an eviction happened
+     * since the load started (the loaded row may predate it)
+     */
+    public void put(String key, SessionPrincipal principal, long loadedAtGeneration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = principal.expiresAtMillis();
+        long cachedUntil = Math.min(now + ttlMillis, expiresAt);
+        if (cachedUntil <= now || generation.get() != loadedAtGeneration) return;
+
+        Entry entry = new Entry(principal, cachedUntil);
+        entries.put(key, entry);
+        // An eviction that ran between the check and the put would miss the entry
+        if (generation.get() != loadedAtGeneration) {
+            entries.remove(key, entry);
+        } else if (entries.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    /**
+     * Drop one token key
+     */
+    public void evict(String key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * Drop every cached session matching the predicate (e.g. of one user)
+     */
+    public void evictWhere(Predicate<SessionPrincipal> predicate) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> predicate.test(entry.principal));
+    }
+
+    /**
+     * Run an eviction once the current transaction commits (immediately outside
+     * one), so a concurrent miss cannot re-cache the row it is replacing
+     */
+    public void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries, then the least recently read ones until the map
+     * is back to EVICT_TO of max-entries
+     */
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) return;
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.cachedUntil <= now);
+
+            int excess = entries.size() - (int) (maxEntries * EVICT_TO);
+            if (excess <= 0) return;
+            long[] reads = entries.values().stream().mapToLong(entry -> entry.lastRead).toArray();
+            if (reads.length == 0) return;
+            Arrays.sort(reads);
+            long threshold = reads[Math.min(excess, reads.length) - 1];
+            entries.values().removeIf(entry -> entry.lastRead <= threshold);
+            log.debug("🔒 Session cache trimmed to {} entries", entries.size());
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hourly cleanup of user_sessions in small transactions.
+ *
+ * Expired (and, with an idle timeout, idle) sessions are deactivated and
+ * sessions inactive for a week are deleted, batch-size rows at a time: each
+ * chunk selects the next ids after the previous chunk (seeking by primary
+ * key) and updates or deletes exactly those rows in its own short
+ * transaction, re-checking the condition. No statement touches more than one
+ * chunk, so the job never holds many write intents against live logins.
+ *
+ * Between chunks the job pauses for as long as the last chunk took (within
+ * pause-min/max), backing off on errors. Every chunk is committed on its own,
+ * so a run that stops early (error, lost lease, shutdown) loses no work and
+ * the next run resumes with the rows left. Only the node holding the
+ * "session-cleanup" lease of {@link JobLeaseService} runs it.
+ */
+@Slf4j
+@Service
+public class SessionCleanupJob {
+
+    static final String JOB = "session-cleanup";
+
+    // Inactive sessions are kept this long before being deleted
+    private static final Duration INACTIVE_RETENTION = Duration.ofDays(7);
+    // Failed chunks are retried this many times before the run gives up
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final String EXPIRED_IDS_SQL =
+            "SELECT id FROM user_sessions WHERE id > ? AND active = true AND expires_at < ? ORDER BY id LIMIT ?";
+    private static final String DEACTIVATE_EXPIRED_SQL =
+            "UPDATE user_sessions SET active = false WHERE active = true AND expires_at < ? AND id IN ";
+    private static final String IDLE_IDS_SQL =
+            "SELECT id FROM user_sessions WHERE id > ? AND active = true AND last_accessed_at < ? ORDER BY id LIMIT ?";
+    private static final String DEACTIVATE_IDLE_SQL =
+            "UPDATE user_sessions SET active = false WHERE active = true AND last_accessed_at < ? AND id IN ";
+    private static final String INACTIVE_IDS_SQL =
+            "SELECT id FROM user_sessions WHERE id > ? AND active = false AND updated_at < ? ORDER BY id LIMIT ?";
+    private static final String DELETE_INACTIVE_SQL =
+            "DELETE FROM user_sessions WHERE active = false AND updated_at < ? AND id IN ";
+
+    /**
+     * Rows changed by one run
+     */
+    public record Result(long deactivated, long deleted, Duration duration, boolean completed) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final SessionAccessTracker sessionAccessTracker;
+    private final int batchSize;
+    private final long pauseMinMillis;
+    private final long pauseMaxMillis;
+    private final Duration lease;
+    private final int idleTimeoutMinutes;
+
+    private volatile boolean stopping;
+    private final AtomicLong deactivatedTotal = new AtomicLong();
+    private final AtomicLong deletedTotal = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public SessionCleanupJob(JdbcTemplate jdbcTemplate,
+                             JobLeaseService jobLeaseService,
+                             SessionAccessTracker sessionAccessTracker,
+                             MeterRegistry meterRegistry,
+                             @Value("${session.cleanup.batch-size:1000}") int batchSize,
+                             @Value("${session.cleanup.pause-min-ms:50}") long pauseMinMillis,
+                             @Value("${session.cleanup.pause-max-ms:2000}") long pauseMaxMillis,
+                             @Value("${session.cleanup.lease-seconds:300}") long leaseSeconds,
+                             @Value("${session.idle-timeout-minutes:0}") int idleTimeoutMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.sessionAccessTracker = sessionAccessTracker;
+        this.batchSize = batchSize;
+        this.pauseMinMillis = pauseMinMillis;
+        this.pauseMaxMillis = pauseMaxMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.idleTimeoutMinutes = idleTimeoutMinutes;
+
+        FunctionCounter.builder("sessions.cleanup.deactivated", deactivatedTotal, AtomicLong::get)
+                .description("Expired or idle sessions deactivated by the cleanup job")
+                .register(meterRegistry);
+        FunctionCounter.builder("sessions.cleanup.deleted", deletedTotal, AtomicLong::get)
+                .description("Inactive sessions deleted by the cleanup job")
+                .register(meterRegistry);
+        Gauge.builder("sessions.cleanup.last.duration.ms", lastRunMillis, AtomicLong::get)
+                .description("Duration of the last cleanup run on this node")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${session.cleanup.interval-ms:3600000}",
+            initialDelayString = "${session.cleanup.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (!jobLeaseService.tryAcquire(JOB, lease)) {
+            log.debug("🧹 Session cleanup is running on another node");
+            return;
+        }
+        try {
+            run();
+        } finally {
+            jobLeaseService.release(JOB);
+        }
+    }
+
+    /**
+     * One cleanup pass; the caller must hold the lease
+     */
+    Result run() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Pacer pacer = new Pacer();
+
+        // Counted from the totals, so chunks of a run that stops early are included
+        long deactivatedBefore = deactivatedTotal.get();
+        long deletedBefore = deletedTotal.get();
+        boolean completed = false;
+        try {
+            process(EXPIRED_IDS_SQL, DEACTIVATE_EXPIRED_SQL, now, deactivatedTotal, pacer);
+            if (idleTimeoutMinutes > 0) {
+                // Write buffered accesses first so active sessions are not taken for idle ones
+                sessionAccessTracker.flush();
+                process(IDLE_IDS_SQL, DEACTIVATE_IDLE_SQL, now.minusMinutes(idleTimeoutMinutes),
+                        deactivatedTotal, pacer);
+            }
+            process(INACTIVE_IDS_SQL, DELETE_INACTIVE_SQL, now.minus(INACTIVE_RETENTION), deletedTotal, pacer);
+            completed = true;
+        } catch (StoppedException e) {
+            log.info("🧹 Session cleanup stopped early ({}); the next run resumes", e.getMessage());
+        }
+
+        long deactivated = deactivatedTotal.get() - deactivatedBefore;
+        long deleted = deletedTotal.get() - deletedBefore;
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        lastRunMillis.set(duration.toMillis());
+        log.info("🧹 Session cleanup: {} sessions deactivated, {} deleted in {} ms",
+                deactivated, deleted, duration.toMillis());
+        return new Result(deactivated, deleted, duration, completed);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    /**
+     * Apply a change to every row matched by the id query, one chunk per
+     * transaction, adding the rows changed to the total
+     */
+    private void process(String idsSql, String changeSql, LocalDateTime cutoff, AtomicLong total, Pacer pacer) {
+        Timestamp cutoffParam = Timestamp.valueOf(cutoff);
+        long afterId = 0;
+        while (true) {
+            if (stopping) throw new StoppedException("shutdown");
+
+            long cursor = afterId;
+            List<Long> ids = pacer.attempt(() -> jdbcTemplate.queryForList(idsSql, Long.class, cursor, cutoffParam, batchSize));
+            if (ids.isEmpty()) return;
+
+            long chunkStart = System.nanoTime();
+            int rows = pacer.attempt(() -> jdbcTemplate.update(changeSql + placeholders(ids.size()), args(cutoffParam, ids)));
+            total.addAndGet(rows);
+
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) return;
+
+            if (!jobLeaseService.tryAcquire(JOB, lease)) throw new StoppedException("lease lost");
+            pacer.pauseAfter(Duration.ofNanos(System.nanoTime() - chunkStart));
+        }
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private static Object[] args(Timestamp cutoff, List<Long> ids) {
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(cutoff);
+        args.addAll(ids);
+        return args.toArray();
+    }
+
+    /**
+     * Adaptive pacing: pause as long as the last chunk took (busier database,
+     * slower job), and back off exponentially on failed statements
+     */
+    private class Pacer {
+
+        private long backoffMillis = pauseMinMillis;
+
+        <T> T attempt(Supplier<T> statement) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    T result = statement.get();
+                    backoffMillis = pauseMinMillis;
+                    return result;
+                } catch (DataAccessException e) {
+                    if (attempt >= MAX_ATTEMPTS) {
+                        log.warn("Session cleanup chunk failed {} times: {}", attempt, e.getMessage());
+                        throw new StoppedException("database errors");
+                    }
+                    log.debug("Session cleanup chunk failed (attempt {}), retrying: {}", attempt, e.getMessage());
+                    backoffMillis = Math.min(Math.max(backoffMillis * 2, 1), pauseMaxMillis);
+                    sleep(backoffMillis);
+                }
+            }
+        }
+
+        void pauseAfter(Duration chunk) {
+            sleep(Math.min(Math.max(chunk.toMillis(), pauseMinMillis), pauseMaxMillis));
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StoppedException("interrupted");
+            }
+        }
+    }
+
+    private static class StoppedException extends RuntimeException {
+        StoppedException(String reason) {
+            super(reason);
+        }
+    }
+}
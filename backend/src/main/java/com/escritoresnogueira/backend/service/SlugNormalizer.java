@@ -0,0 +1,29 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of book slugs: lower-case, no accents, words joined by single
+ * hyphens ("O Crime do Padre Amaro" → "o-crime-do-padre-amaro").
+ *
+ * Slugs are stored in this form, so lookups can be exact matches on the
+ * unique slug index instead of LOWER(slug) scans.
+ */
+public final class SlugNormalizer {
+
+    private static final Pattern NON_SLUG = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern EDGE_HYPHENS = Pattern.compile("^-+|-+$");
+
+    private SlugNormalizer() {
+    }
+
+    /**
+     * Canonical slug, or null when nothing usable is left
+     */
+    public static String canonical(String slug) {
+        if (slug == null) return null;
+        String folded = NON_SLUG.matcher(PortugueseAnalyzer.fold(slug)).replaceAll("-");
+        String canonical = EDGE_HYPHENS.matcher(folded).replaceAll("");
+        return canonical.isEmpty() ? null : canonical;
+    }
+}
@@ -0,0 +1,329 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.exception.InsufficientStockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stock reservations for checkout.
+ *
+ * A reservation holds units in an in-memory ledger for a limited time (the
+ * cart-to-payment window) without touching the database. Confirming it applies
+ * the durable decrement as a conditional
+ * {@code UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?}, all
+ * lines in one transaction, so stock can never go negative even across nodes
+ * and no buyer waits on another buyer's row lock for longer than one statement.
+ * Holds that are neither confirmed nor released expire and are returned to the
+ * ledger in batches by a scheduled sweeper, which also resyncs the known stock
+ * of every ledger with the database (sales confirmed on other nodes).
+ *
+ * Stock reads happen outside the per-book lock, so every local stock change
+ * bumps the ledger's version and a read is only applied if the version is
+ * still the one seen when the read started; a confirmed sale is subtracted
+ * locally and then reread, so neither an older nor a newer read can count it
+ * twice or erase it.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private static final String LOAD_STOCK_SQL = "SELECT stock FROM books WHERE id = ?";
+    private static final String DECREMENT_SQL = "UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RESYNC_SQL = "SELECT id, stock FROM books WHERE id IN ";
+    // Books per resync query
+    private static final int RESYNC_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+
+    // bookId -> known stock and units currently held; updated with compute() (per-book bin lock)
+    private final ConcurrentHashMap<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong expiredTotal = new AtomicLong();
+
+    /**
+     * Units held for one checkout, by book id
+     */
+    public record Reservation(String id, Map<Long, Integer> lines, Instant expiresAt) {}
+
+    /**
+     * Last known durable stock of a book, the units held against it and the
+     * number of local stock changes (confirmed sales) so far
+     */
+    private record Ledger(int stock, int held, long version) {
+
+        int available() {
+            return stock - held;
+        }
+    }
+
+    public StockReservationService(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${books.stock.hold-ttl-ms:900000}") long holdTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.holdTtl = Duration.ofMillis(holdTtlMs);
+
+        Gauge.builder("books.stock.reservations.active", reservations, Map::size)
+                .description("Stock reservations currently held")
+                .register(meterRegistry);
+        FunctionCounter.builder("books.stock.reservations.expired", expiredTotal, AtomicLong::get)
+                .description("Stock reservations released by the sweeper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hold units of one or more books. Either every line is held or none is.
+     *
+     * @param items bookId -> quantity
+     * @throws InsufficientStockException if a book does not have enough free units
+     */
+    public Reservation reserve(Map<Long, Integer> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("A reserva não tem artigos");
+        }
+        items.forEach((bookId, quantity) -> {
+            if (bookId == null || quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantidade inválida para o livro " + bookId);
+            }
+        });
+
+        // Lines are kept in book id order, so concurrent confirmations lock rows in the same order
+        Map<Long, Integer> lines = new TreeMap<>(items);
+        List<Map.Entry<Long, Integer>> held = new ArrayList<>();
+        try {
+            for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+                hold(line.getKey(), line.getValue());
+                held.add(line);
+            }
+        } catch (RuntimeException e) {
+            held.forEach(line -> unhold(line.getKey(), line.getValue()));
+            throw e;
+        }
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), Collections.unmodifiableMap(lines),
+                Instant.now().plus(holdTtl));
+        reservations.put(reservation.id(), reservation);
+        log.debug("🛒 Reservation {} holds {}", reservation.id(), lines);
+        return reservation;
+    }
+
+    /**
+     * Turn a reservation into a durable stock decrement (payment confirmed).
+     *
+     * @throws IllegalArgumentException if the reservation does not exist or has expired
+     * @throws InsufficientStockException if another node sold the units in the meantime
+     */
+    public void confirm(String reservationId) {
+        Reservation reservation = take(reservationId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<Long, Integer> line : reservation.lines().entrySet()) {
+                    int updated = jdbcTemplate.update(DECREMENT_SQL, line.getValue(), line.getKey(), line.getValue());
+                    if (updated == 0) {
+                        throw new InsufficientStockException(line.getKey(), line.getValue(), loadStock(line.getKey()));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rolled back: drop the holds and resync the ledger with the database
+            reservation.lines().forEach(this::unhold);
+            reservation.lines().keySet().forEach(this::refresh);
+            throw e;
+        }
+
+        reservation.lines().forEach((bookId, quantity) -> {
+            // Subtracted now so the units are not offered again, then reread: resyncs
+            // whose read started before this change are dropped by the version check
+            ledgers.computeIfPresent(bookId, (id, ledger) ->
+                    new Ledger(ledger.stock() - quantity, Math.max(0, ledger.held() - quantity), ledger.version() + 1));
+            try {
+                refresh(bookId);
+            } catch (RuntimeException e) {
+                log.warn("Could not reread stock of book {}: {}", bookId, e.getMessage());
+            }
+        });
+        log.info("✅ Reservation {} confirmed: {}", reservation.id(), reservation.lines());
+    }
+
+    /**
+     * Give the held units back (cart abandoned, payment failed)
+     */
+    public void release(String reservationId) {
+        Reservation reservation = reservationId == null ? null : reservations.remove(reservationId);
+        if (reservation != null) {
+            reservation.lines().forEach(this::unhold);
+            log.debug("↩️ Reservation {} released", reservationId);
+        }
+    }
+
+    /**
+     * Units that can still be reserved on this node
+     */
+    public int getAvailable(Long bookId) {
+        return ledger(bookId).available();
+    }
+
+    /**
+     * Resync a book's stock after it was changed outside this service (admin edit).
+     * Deleted books are dropped from the ledger.
+     */
+    public void refresh(Long bookId) {
+        Ledger current = ledgers.get(bookId);
+        if (current == null) return;
+        // Queried before compute: the bin lock is only held for the swap
+        Integer stock = queryStock(bookId);
+        resync(bookId, current.version(), stock);
+    }
+
+    /**
+     * Release expired holds, one ledger update per book, then resync the stock
+     */
+    @Scheduled(fixedDelayString = "${books.stock.sweep-interval-ms:30000}")
+    public void sweepExpired() {
+        releaseExpired();
+        try {
+            resyncStock();
+        } catch (RuntimeException e) {
+            log.warn("Could not resync stock ledgers: {}", e.getMessage());
+        }
+    }
+
+    private void releaseExpired() {
+        Instant now = Instant.now();
+        Map<Long, Integer> released = new HashMap<>();
+        int expired = 0;
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.expiresAt().isBefore(now) && reservations.remove(reservation.id(), reservation)) {
+                reservation.lines().forEach((bookId, quantity) -> released.merge(bookId, quantity, Integer::sum));
+                expired++;
+            }
+        }
+        if (expired == 0) return;
+
+        released.forEach(this::unhold);
+        expiredTotal.addAndGet(expired);
+        log.info("🧹 Released {} expired stock reservations ({} books)", expired, released.size());
+    }
+
+    /**
+     * Reload the durable stock of every ledger, so units sold by other nodes
+     * stop being offered here. The conditional decrement in confirm() stays the
+     * guarantee; this only keeps holds from being granted against sold stock.
+     */
+    private void resyncStock() {
+        List<Long> bookIds = new ArrayList<>(ledgers.keySet());
+        for (int from = 0; from < bookIds.size(); from += RESYNC_CHUNK) {
+            List<Long> chunk = bookIds.subList(from, Math.min(from + RESYNC_CHUNK, bookIds.size()));
+            Map<Long, Long> versions = new HashMap<>();
+            for (Long bookId : chunk) {
+                Ledger ledger = ledgers.get(bookId);
+                if (ledger != null) {
+                    versions.put(bookId, ledger.version());
+                }
+            }
+            Map<Long, Integer> stocks = new HashMap<>();
+            jdbcTemplate.query(RESYNC_SQL + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        stocks.put(rs.getLong("id"), rs.getInt("stock"));
+                    },
+                    chunk.toArray());
+            versions.forEach((bookId, version) -> resync(bookId, version, stocks.get(bookId)));
+        }
+    }
+
+    /**
+     * Apply a stock read (null: book deleted) unless the ledger changed locally
+     * since the read started; the held units are kept either way
+     */
+    private void resync(Long bookId, long readAtVersion, Integer stock) {
+        ledgers.computeIfPresent(bookId, (id, ledger) -> {
+            if (ledger.version() != readAtVersion) {
+                return ledger;
+            }
+            return stock == null ? null : new Ledger(stock, ledger.held(), ledger.version());
+        });
+    }
+
+    private Reservation take(String reservationId) {
+        Reservation reservation = reservationId == null ? null : reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reserva inexistente ou expirada");
+        }
+        if (reservation.expiresAt().isBefore(Instant.now())) {
+            reservation.lines().forEach(this::unhold);
+            throw new IllegalArgumentException("Reserva inexistente ou expirada");
+        }
+        return reservation;
+    }
+
+    private void hold(Long bookId, int quantity) {
+        ledger(bookId);
+        int[] available = {0};
+        boolean[] granted = {false};
+        ledgers.compute(bookId, (id, ledger) -> {
+            if (ledger == null) {
+                return null; // book deleted meanwhile
+            }
+            available[0] = ledger.available();
+            if (available[0] < quantity) {
+                return ledger;
+            }
+            granted[0] = true;
+            return new Ledger(ledger.stock(), ledger.held() + quantity, ledger.version());
+        });
+        if (!granted[0]) {
+            throw new InsufficientStockException(bookId, quantity, Math.max(0, available[0]));
+        }
+    }
+
+    private void unhold(Long bookId, int quantity) {
+        ledgers.computeIfPresent(bookId, (id, ledger) -> new Ledger(ledger.stock(), Math.max(0, ledger.held() - quantity), ledger.version()));
+    }
+
+    /**
+     * Ledger of a book, loading its stock from the database the first time
+     */
+    private Ledger ledger(Long bookId) {
+        Ledger ledger = ledgers.get(bookId);
+        if (ledger != null) {
+            return ledger;
+        }
+        Integer stock = queryStock(bookId);
+        if (stock == null) {
+            throw new IllegalArgumentException("Livro não encontrado: " + bookId);
+        }
+        return ledgers.computeIfAbsent(bookId, id -> new Ledger(stock, 0, 0));
+    }
+
+    private int loadStock(Long bookId) {
+        Integer stock = queryStock(bookId);
+        return stock != null ? stock : 0;
+    }
+
+    private Integer queryStock(Long bookId) {
+        List<Integer> rows = jdbcTemplate.queryForList(LOAD_STOCK_SQL, Integer.class, bookId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
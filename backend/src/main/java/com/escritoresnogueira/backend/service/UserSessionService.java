@@ -7,14 +7,19 @@ import main.java.com.escritoresnogueira.backend.model.UserSession;
 import main.java.com.escritoresnogueira.backend.repository.UserRepository;
 import main.java.com.escritoresnogueira.backend.repository.UserSessionRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -23,6 +28,9 @@ public class UserSessionService {
     
     private final UserSessionRepository sessionRepository;
     private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SessionCache sessionCache;
+    private final SessionAccessTracker sessionAccessTracker;
     
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
@@ -33,6 +41,10 @@ public class UserSessionService {
     @Value("${session.max-sessions-per-user:5}")
     private int maxSessionsPerUser;
     
+    // Sessions unused for longer are rejected and deactivated (0 = no idle timeout)
+    @Value("${session.idle-timeout-minutes:0}")
+    private int idleTimeoutMinutes;
+    
     /**
      * Generate a cryptographically secure session token
      */
@@ -42,6 +54,19 @@ public class UserSessionService {
         return BASE64_ENCODER.encodeToString(randomBytes);
     }
     
+    /**
+     * Key of a session in cache invalidations: SHA-256 of the token, so tokens
+     * are never written to the outbox table
+     */
+    static String tokenKey(String sessionToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sessionToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
     /**
      * Create a new session for a user after successful authentication
      */
@@ -54,6 +79,9 @@ public class UserSessionService {
             log.info("🔒 User {} has max sessions, deactivating oldest", user.getEmail());
             // Deactivate all sessions for this user (they'll need to re-login on other devices)
             sessionRepository.deactivateAllUserSessions(user.getId());
+            cacheInvalidationBus.publish(CacheInvalidationBus.Topic.USER_SESSIONS, firebaseUid);
+            Long userId = user.getId();
+            sessionCache.afterCommit(() -> sessionCache.evictWhere(principal -> userId.equals(principal.userId())));
         }
         
         String sessionToken = generateSecureToken();
@@ -79,50 +107,71 @@ public class UserSessionService {
     }
     
     /**
-     * Validate a session token and return session data if valid
-     * Uses JOIN FETCH to eagerly load the user to avoid LazyInitializationException
-     * Note: We don't update last_accessed_at on every validation to avoid CockroachDB
-     * transaction conflicts when multiple requests happen in parallel
+     * Validate a session token and return the principal if valid
+     * Served from the SessionCache when possible; on a miss the session is read
+     * with JOIN FETCH of the user and its snapshot cached.
+     * Not transactional: a cache hit needs no connection, and the repository
+     * query runs in its own read-only transaction.
+     * Note: last_accessed_at is not written here; the access is recorded by the
+     * SessionAccessTracker and flushed in batches, so parallel requests don't cause
+     * CockroachDB transaction conflicts
      */
-    @Transactional(readOnly = true)
-    public Optional<UserSession> validateSession(String sessionToken) {
+    public Optional<SessionPrincipal> validateSession(String sessionToken) {
         if (sessionToken == null || sessionToken.isBlank()) {
             return Optional.empty();
         }
         
-        Optional<UserSession> sessionOpt = sessionRepository.findBySessionTokenAndActiveTrueWithUser(sessionToken);
-        
-        if (sessionOpt.isEmpty()) {
-            log.debug("🔒 Session not found or inactive: {}", sessionToken.substring(0, Math.min(10, sessionToken.length())) + "...");
-            return Optional.empty();
+        String key = tokenKey(sessionToken);
+        SessionPrincipal principal = sessionCache.get(key);
+        if (principal == null) {
+            long generation = sessionCache.generation();
+            Optional<UserSession> sessionOpt = sessionRepository.findBySessionTokenAndActiveTrueWithUser(sessionToken);
+            
+            if (sessionOpt.isEmpty()) {
+                log.debug("🔒 Session not found or inactive: {}", sessionToken.substring(0, Math.min(10, sessionToken.length())) + "...");
+                return Optional.empty();
+            }
+            
+            UserSession session = sessionOpt.get();
+            if (isIdle(session)) {
+                log.info("🔒 Session idle for over {} minutes for user: {}", idleTimeoutMinutes, session.getUser().getEmail());
+                return Optional.empty();
+            }
+            
+            principal = SessionPrincipal.of(session);
+            sessionCache.put(key, principal, generation);
         }
         
-        UserSession session = sessionOpt.get();
-        
-        if (session.isExpired()) {
-            log.info("🔒 Session expired for user: {}", session.getUser().getEmail());
+        if (principal.isExpired()) {
+            log.info("🔒 Session expired for user: {}", principal.email());
             // Don't update here - let the cleanup job handle it
             return Optional.empty();
         }
         
-        return Optional.of(session);
+        sessionAccessTracker.touch(principal.sessionId());
+        return Optional.of(principal);
     }
     
     /**
-     * Touch a session (update last accessed time) - call this sparingly
-     * to avoid transaction conflicts on frequent operations
+     * Whether the last access (flushed or still buffered on this node) is older
+     * than the idle timeout
      */
-    @Transactional
-    public void touchSession(String sessionToken) {
-        try {
-            sessionRepository.findBySessionTokenAndActiveTrue(sessionToken).ifPresent(session -> {
-                session.setLastAccessedAt(LocalDateTime.now());
-                sessionRepository.save(session);
-            });
-        } catch (Exception e) {
-            // Ignore touch failures - not critical
-            log.debug("Could not touch session: {}", e.getMessage());
+    private boolean isIdle(UserSession session) {
+        if (idleTimeoutMinutes <= 0) return false;
+        LocalDateTime lastAccess = session.getLastAccessedAt();
+        LocalDateTime buffered = sessionAccessTracker.pendingAccess(session.getId());
+        if (buffered != null && (lastAccess == null || buffered.isAfter(lastAccess))) {
+            lastAccess = buffered;
         }
+        return lastAccess != null && lastAccess.isBefore(LocalDateTime.now().minusMinutes(idleTimeoutMinutes));
+    }
+    
+    /**
+     * Touch a session (update last accessed time)
+     * Only recorded in memory; the SessionAccessTracker writes it on its next flush
+     */
+    public void touchSession(String sessionToken) {
+        validateSession(sessionToken);
     }
     
     /**
@@ -145,11 +194,11 @@ public class UserSessionService {
      */
     public Optional<SessionData> getSessionData(String sessionToken) {
         return validateSession(sessionToken)
-                .map(session -> new SessionData(
-                        session.getDisplayName(),
-                        session.getUser().getEmail(),
-                        session.getPhotoUrl(),
-                        session.getExpiresAt()
+                .map(principal -> new SessionData(
+                        principal.displayName(),
+                        principal.email(),
+                        principal.photoUrl(),
+                        principal.expiresAt()
                 ));
     }
     
@@ -162,6 +211,9 @@ public class UserSessionService {
                 .ifPresent(session -> {
                     session.setActive(false);
                     sessionRepository.save(session);
+                    String key = tokenKey(sessionToken);
+                    cacheInvalidationBus.publish(CacheInvalidationBus.Topic.SESSION, key);
+                    sessionCache.afterCommit(() -> sessionCache.evict(key));
                     log.info("🔒 Session invalidated for user: {}", session.getUser().getEmail());
                 });
     }
@@ -172,6 +224,8 @@ public class UserSessionService {
     @Transactional
     public void invalidateAllUserSessions(String firebaseUid) {
         sessionRepository.deactivateAllSessionsByFirebaseUid(firebaseUid);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.USER_SESSIONS, firebaseUid);
+        sessionCache.afterCommit(() -> sessionCache.evictWhere(principal -> firebaseUid.equals(principal.firebaseUid())));
         log.info("🔒 All sessions invalidated for Firebase UID: {}", firebaseUid);
     }
     
@@ -182,25 +236,12 @@ public class UserSessionService {
     public void deleteAllUserSessions(Long userId, String firebaseUid) {
         sessionRepository.deleteAllByUserId(userId);
         sessionRepository.deleteAllByFirebaseUid(firebaseUid);
+        cacheInvalidationBus.publish(CacheInvalidationBus.Topic.USER_SESSIONS, firebaseUid);
+        sessionCache.afterCommit(() -> sessionCache.evictWhere(principal ->
+                userId.equals(principal.userId()) || principal.firebaseUid() != null && principal.firebaseUid().equals(firebaseUid)));
         log.info("🗑️ All sessions deleted for user ID: {} / Firebase UID: {}", userId, firebaseUid);
     }
     
-    /**
-     * Scheduled task to cleanup expired sessions
-     */
-    @Scheduled(fixedRate = 3600000) // Run every hour
-    @Transactional
-    public void cleanupExpiredSessions() {
-        LocalDateTime now = LocalDateTime.now();
-        sessionRepository.deactivateExpiredSessions(now);
-        
-        // Delete inactive sessions older than 7 days
-        LocalDateTime cutoff = now.minusDays(7);
-        sessionRepository.deleteInactiveSessions(cutoff);
-        
-        log.debug("🧹 Session cleanup completed");
-    }
-    
     /**
      * Extend session expiration (for "remember me" functionality)
      */
@@ -210,6 +251,9 @@ public class UserSessionService {
                 .ifPresent(session -> {
                     session.setExpiresAt(session.getExpiresAt().plusHours(additionalHours));
                     sessionRepository.save(session);
+                    String key = tokenKey(sessionToken);
+                    cacheInvalidationBus.publish(CacheInvalidationBus.Topic.SESSION, key);
+                    sessionCache.afterCommit(() -> sessionCache.evict(key));
                     log.info("🔒 Session extended for user: {}", session.getUser().getEmail());
                 });
     }
@@ -218,4 +262,33 @@ public class UserSessionService {
      * DTO for returning safe session data to frontend
      */
     public record SessionData(String displayName, String email, String photoUrl, LocalDateTime expiresAt) {}
+    
+    /**
+     * Immutable snapshot of a valid session and its user, as held by the SessionCache
+     */
+    public record SessionPrincipal(Long sessionId, Long userId, String email, String firebaseUid,
+                                   String displayName, String photoUrl, Set<String> roles,
+                                   LocalDateTime expiresAt) {
+        
+        static SessionPrincipal of(UserSession session) {
+            User user = session.getUser();
+            return new SessionPrincipal(
+                    session.getId(),
+                    user.getId(),
+                    user.getEmail(),
+                    session.getFirebaseUid(),
+                    session.getDisplayName(),
+                    session.getPhotoUrl(),
+                    user.getRoles() != null ? Set.copyOf(user.getRoles()) : Set.of(),
+                    session.getExpiresAt());
+        }
+        
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+        
+        long expiresAtMillis() {
+            return expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import main.java.com.escritoresnogueira.backend.dto.UserStatsDTO;
+import main.java.com.escritoresnogueira.backend.model.Order;
+import main.java.com.escritoresnogueira.backend.model.OrderItem;
+import main.java.com.escritoresnogueira.backend.model.UserStatsSummary;
+import main.java.com.escritoresnogueira.backend.repository.UserStatsSummaryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-user purchase aggregates (paid orders, amount spent, books bought) kept
+ * up to date by the order payment transitions with SQL increments, so the
+ * account page stats are one primary-key read instead of an aggregate over
+ * the user's orders and items.
+ *
+ * A user's row is seeded from their paid orders the first time a payment
+ * transition touches it, which also covers orders paid before the aggregates
+ * existed. Reads never write: a user without a row gets their stats computed
+ * from their orders.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    // Paid orders of the user other than the one being changed (0 when none is)
+    private static final String AGGREGATE_SQL =
+            "SELECT ? AS user_id, COUNT(*) AS paid_orders, COALESCE(SUM(o.total), 0) AS total_spent, " +
+            "COALESCE((SELECT SUM(i.quantity) FROM order_items i JOIN orders p ON p.id = i.order_id " +
+            "          WHERE p.user_id = ? AND p.payment_status = 'PAID' AND p.id <> ?), 0) AS books_owned " +
+            "FROM orders o WHERE o.user_id = ? AND o.payment_status = 'PAID' AND o.id <> ?";
+
+    private static final String SEED_SQL =
+            "INSERT INTO user_stats_summary (user_id, paid_orders, total_spent, books_owned) " +
+            AGGREGATE_SQL + " ON CONFLICT (user_id) DO NOTHING";
+
+    private static final RowMapper<UserStatsSummary> SUMMARY_MAPPER = (rs, rowNum) -> UserStatsSummary.builder()
+            .userId(rs.getLong("user_id"))
+            .paidOrders(rs.getLong("paid_orders"))
+            .totalSpent(rs.getBigDecimal("total_spent"))
+            .booksOwned(rs.getLong("books_owned"))
+            .build();
+
+    private static final String INCREMENT_SQL =
+            "UPDATE user_stats_summary SET paid_orders = paid_orders + ?, total_spent = total_spent + ?, " +
+            "books_owned = books_owned + ? WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserStatsSummaryRepository userStatsSummaryRepository;
+
+    /**
+     * Purchase stats of a user (zeros when nothing was paid yet).
+     * One primary-key read; users without a row (no payment since the
+     * aggregates exist) are computed from their orders without storing the result.
+     */
+    public UserStatsDTO getStats(Long userId) {
+        UserStatsSummary summary = userStatsSummaryRepository.findById(userId).orElseGet(() ->
+                jdbcTemplate.queryForObject(AGGREGATE_SQL, SUMMARY_MAPPER, userId, userId, 0L, userId, 0L));
+        return UserStatsDTO.builder()
+                .cartItemsCount(0) // the cart lives in the browser's localStorage
+                .totalPurchases((int) summary.getPaidOrders())
+                .totalSpent(summary.getTotalSpent())
+                .totalBooksOwned((int) summary.getBooksOwned())
+                .build();
+    }
+
+    /**
+     * Add (sign 1, paid) or remove (sign -1, paid order refunded) an order.
+     * Must run in the payment transition's transaction.
+     */
+    public void applyOrder(Order order, int sign) {
+        if (order.getUser() == null) return; // guest checkout
+
+        Long userId = order.getUser().getId();
+        // A row seeded now already reflects everything but this order, whatever
+        // its status in the database; only a payment still has to be added
+        if (seed(userId, order.getId()) && sign < 0) return;
+
+        int units = order.getItems().stream().mapToInt(OrderItem::getQuantity).sum();
+        BigDecimal total = order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO;
+        jdbcTemplate.update(INCREMENT_SQL, sign, total.multiply(BigDecimal.valueOf(sign)), sign * units, userId);
+    }
+
+    /**
+     * Create the user's row from their paid orders, leaving one order out.
+     * Returns false when the row already existed.
+     */
+    private boolean seed(Long userId, Long excludedOrderId) {
+        int inserted = jdbcTemplate.update(SEED_SQL, userId, userId, excludedOrderId, userId, excludedOrderId);
+        if (inserted > 0) {
+            log.debug("📊 User stats seeded for user {}", userId);
+        }
+        return inserted > 0;
+    }
+}
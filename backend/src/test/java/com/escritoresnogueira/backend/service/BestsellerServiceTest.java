@@ -0,0 +1,102 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import main.java.com.escritoresnogueira.backend.dto.BookCardDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reloads racing with recorded sales, on an in-memory database
+ */
+class BestsellerServiceTest {
+
+    private final LocalDate today = LocalDate.now();
+
+    private JdbcTemplate jdbcTemplate;
+    // Run after a reload has read the daily buckets, before it reads the all-time counters
+    private Runnable afterDailyRead = () -> {};
+    private BestsellerService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bestsellers;DB_CLOSE_DELAY=-1;NON_KEYWORDS=DAY");
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                Runnable hook = afterDailyRead;
+                afterDailyRead = () -> {};
+                hook.run();
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, sales_count BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE book_sales_daily (day DATE, book_id BIGINT, quantity BIGINT, "
+                + "PRIMARY KEY (day, book_id))");
+        sell(1L, 5);
+        sell(2L, 2);
+
+        BookCatalogService bookCatalogService = mock(BookCatalogService.class);
+        when(bookCatalogService.findCardById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(BookCardDTO.builder().id(invocation.getArgument(0)).build()));
+        service = new BestsellerService(jdbcTemplate, bookCatalogService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void saleCommittedDuringAReloadIsNotLost() {
+        assertEquals(List.of(1L, 2L), ranking(BestsellerService.Window.WEEK));
+        afterDailyRead = () -> {
+            sell(2L, 4);
+            service.recordSale(today, Map.of(2L, 4));
+        };
+
+        service.reload();
+
+        assertEquals(List.of(2L, 1L), ranking(BestsellerService.Window.WEEK));
+        assertEquals(List.of(2L, 1L), ranking(BestsellerService.Window.ALL));
+    }
+
+    @Test
+    void saleAlreadyReadByAReloadIsNotCountedTwice() {
+        assertEquals(List.of(1L, 2L), ranking(BestsellerService.Window.WEEK));
+        sell(2L, 2); // committed before the reload reads; recorded while it reads
+        afterDailyRead = () -> service.recordSale(today, Map.of(2L, 2));
+
+        service.reload();
+
+        // 5 vs 4: counted twice, book 2 would lead with 6
+        assertEquals(List.of(1L, 2L), ranking(BestsellerService.Window.WEEK));
+        assertEquals(List.of(1L, 2L), ranking(BestsellerService.Window.ALL));
+    }
+
+    private List<Long> ranking(BestsellerService.Window window) {
+        return service.getBestsellers(window, 10).stream().map(BookCardDTO::getId).toList();
+    }
+
+    private void sell(Long bookId, int quantity) {
+        jdbcTemplate.update("MERGE INTO books (id, sales_count) KEY (id) VALUES (?, COALESCE("
+                + "(SELECT sales_count FROM books WHERE id = ?), 0) + ?)", bookId, bookId, quantity);
+        jdbcTemplate.update("MERGE INTO book_sales_daily (day, book_id, quantity) KEY (day, book_id) VALUES (?, ?, "
+                + "COALESCE((SELECT quantity FROM book_sales_daily WHERE day = ? AND book_id = ?), 0) + ?)",
+                Date.valueOf(today), bookId, Date.valueOf(today), bookId, quantity);
+    }
+}
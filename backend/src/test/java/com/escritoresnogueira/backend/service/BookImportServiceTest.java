@@ -0,0 +1,155 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import main.java.com.escritoresnogueira.backend.dto.BookImportJobDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Upsert rules of the importer against the real SQL on an in-memory database
+ */
+class BookImportServiceTest {
+
+    private static final String HEADER = "isbn,slug,title,author,price,stock\n";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ValidatorFactory validatorFactory;
+    private BookImportService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:book-import;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE default_sequence START WITH 100");
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "slug VARCHAR(255) NOT NULL UNIQUE, author VARCHAR(255) NOT NULL, category VARCHAR(100), "
+                + "price NUMERIC(10, 2) NOT NULL, original_price NUMERIC(10, 2), description VARCHAR(2000), "
+                + "isbn VARCHAR(255) UNIQUE, pages INT, publish_year INT, language VARCHAR(255), "
+                + "publisher VARCHAR(255), featured BOOLEAN, promo BOOLEAN, cover_image VARCHAR(255), "
+                + "sample_pages VARCHAR(4000), stock INT, active BOOLEAN, sales_count BIGINT, view_count BIGINT, "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+        book(1L, "978-1", "o-crime-do-padre-amaro", 5);
+        book(2L, null, "os-maias", 3);
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new BookImportService(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                JsonMapper.builder().findAndAddModules().build(), validatorFactory.getValidator(),
+                mock(BookCatalogService.class), mock(SearchIndexService.class), mock(RelatedBooksService.class),
+                mock(StockReservationService.class), mock(ContentVersionService.class),
+                mock(CacheInvalidationBus.class), 25, 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        validatorFactory.close();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void rowWithAKnownIsbnUpdatesThatBookAndKeepsItsSlug() throws Exception {
+        BookImportJobDTO job = runImport(HEADER + "978-1,,O Crime do Padre Amaro (2ª ed.),Eça,12.50,9\n");
+
+        assertEquals(List.of(0L, 1L, 0L), counts(job));
+        assertEquals(Map.of("SLUG", "o-crime-do-padre-amaro", "STOCK", 9), slugAndStock(1L));
+    }
+
+    @Test
+    void rowWithoutIsbnMatchesByCanonicalSlug() throws Exception {
+        BookImportJobDTO job = runImport(HEADER + ",,Os Maias,Eça,15.00,7\n");
+
+        assertEquals(List.of(0L, 1L, 0L), counts(job));
+        assertEquals(Map.of("SLUG", "os-maias", "STOCK", 7), slugAndStock(2L));
+    }
+
+    @Test
+    void newIsbnNeverTakesOverTheSlugOfAnotherBook() throws Exception {
+        BookImportJobDTO job = runImport(HEADER + "978-9,,O Crime do Padre Amaro,Outro,10.00,1\n");
+
+        assertEquals(List.of(0L, 0L, 1L), counts(job));
+        assertEquals("Slug já usado por outro livro: o-crime-do-padre-amaro", job.getErrors().get(0).getMessage());
+        assertEquals(2, count());
+        assertEquals(Map.of("SLUG", "o-crime-do-padre-amaro", "STOCK", 5), slugAndStock(1L));
+    }
+
+    @Test
+    void explicitSlugOwnedByAnotherBookIsRejected() throws Exception {
+        BookImportJobDTO job = runImport(HEADER + "978-1,os-maias,O Crime do Padre Amaro,Eça,12.50,9\n");
+
+        assertEquals(List.of(0L, 0L, 1L), counts(job));
+        assertEquals(Map.of("SLUG", "os-maias", "STOCK", 3), slugAndStock(2L));
+        assertEquals(Map.of("SLUG", "o-crime-do-padre-amaro", "STOCK", 5), slugAndStock(1L));
+    }
+
+    @Test
+    void repeatedKeyInOneChunkIsAppliedInFileOrder() throws Exception {
+        BookImportJobDTO job = runImport(HEADER
+                + "978-5,,A Cidade e as Serras,Eça,11.00,1\n"
+                + "978-5,,A Cidade e as Serras,Eça,11.00,4\n");
+
+        assertEquals(List.of(1L, 1L, 0L), counts(job));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT stock FROM books WHERE isbn = '978-5'", Integer.class));
+    }
+
+    @Test
+    void failedChunkIsRetriedRowByRow() throws Exception {
+        BookImportJobDTO job = runImport(HEADER
+                + "978-6,,A Relíquia,Eça,9.00,1\n"
+                + "978-7,,,Eça,9.00,1\n"
+                + "978-8,os-maias,O Mandarim,Eça,8.00,1\n"
+                + "978-9,,O Primo Basílio,Eça,10.00,1\n");
+
+        assertEquals(List.of(2L, 0L, 2L), counts(job));
+        assertEquals(List.of(3L, 4L), job.getErrors().stream().map(BookImportJobDTO.RowError::getLine).toList());
+        assertEquals(4, count());
+    }
+
+    private BookImportJobDTO runImport(String csv) throws Exception {
+        BookImportJobDTO queued = service.submit(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), DataFormat.CSV);
+        for (int i = 0; i < 500; i++) {
+            BookImportJobDTO job = service.getJob(queued.getId()).orElseThrow();
+            if (job.getFinishedAt() != null) {
+                assertEquals("COMPLETED", job.getStatus(), job.getMessage());
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import did not finish");
+    }
+
+    private static List<Long> counts(BookImportJobDTO job) {
+        return List.of(job.getInserted(), job.getUpdated(), job.getFailed());
+    }
+
+    private Map<String, Object> slugAndStock(Long id) {
+        return jdbcTemplate.queryForMap("SELECT slug, stock FROM books WHERE id = ?", id);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class);
+    }
+
+    private void book(Long id, String isbn, String slug, int stock) {
+        jdbcTemplate.update("INSERT INTO books (id, title, slug, author, price, isbn, stock, active) "
+                + "VALUES (?, ?, ?, 'Eça de Queirós', 10.00, ?, ?, TRUE)", id, slug, slug, isbn, stock);
+    }
+}
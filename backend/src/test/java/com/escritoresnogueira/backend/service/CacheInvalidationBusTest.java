@@ -0,0 +1,73 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two nodes sharing an in-JVM transport
+ */
+class CacheInvalidationBusTest {
+
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private final List<String> receivedByA = new ArrayList<>();
+    private final List<String> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        InMemoryCacheInvalidationTransport transport = new InMemoryCacheInvalidationTransport();
+        nodeA = new CacheInvalidationBus(transport, new SimpleMeterRegistry());
+        nodeB = new CacheInvalidationBus(transport, new SimpleMeterRegistry());
+        for (CacheInvalidationBus.Topic topic : CacheInvalidationBus.Topic.values()) {
+            nodeA.subscribe(topic, key -> receivedByA.add(topic + " " + key));
+            nodeB.subscribe(topic, key -> receivedByB.add(topic + " " + key));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void eventsReachTheOtherNodeButNotTheOrigin() {
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "42");
+        nodeA.publish(CacheInvalidationBus.Topic.BLOG, CacheInvalidationBus.ALL);
+        nodeB.publish(CacheInvalidationBus.Topic.SESSION, "abc");
+
+        assertEquals(List.of("BOOK 42", "BLOG *"), receivedByB);
+        assertEquals(List.of("SESSION abc"), receivedByA);
+    }
+
+    @Test
+    void eventsAreDeliveredOnlyOnceTheirTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "42");
+        assertEquals(List.of(), receivedByB);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals(List.of("BOOK 42"), receivedByB);
+    }
+
+    @Test
+    void rolledBackEventsAreNeverDelivered() {
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "42");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(List.of(), receivedByB);
+    }
+}
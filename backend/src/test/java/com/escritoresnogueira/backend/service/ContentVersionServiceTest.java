@@ -0,0 +1,49 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import main.java.com.escritoresnogueira.backend.repository.BlogCategoryRepository;
+import main.java.com.escritoresnogueira.backend.repository.BlogPostRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookCommentRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentVersionServiceTest {
+
+    private final BlogPostRepository blogPostRepository = mock(BlogPostRepository.class);
+    private final BlogCategoryRepository blogCategoryRepository = mock(BlogCategoryRepository.class);
+    private final ContentVersionService service = new ContentVersionService(mock(BookRepository.class),
+            blogPostRepository, blogCategoryRepository, mock(BookCommentRepository.class));
+
+    @Test
+    void textMetricsBackfillMovesTheBlogVersion() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        when(blogPostRepository.findMaxUpdatedAt()).thenReturn(updatedAt);
+        when(blogPostRepository.count()).thenReturn(3L);
+        when(blogCategoryRepository.count()).thenReturn(1L);
+        when(blogPostRepository.countByReadTimeMinutesIsNull()).thenReturn(3L);
+        String before = service.current(ContentVersionService.Area.BLOG).etag(ContentVersionService.Area.BLOG, "list");
+
+        // Same max(updated_at) and row counts; only the metrics columns were filled
+        when(blogPostRepository.countByReadTimeMinutesIsNull()).thenReturn(0L);
+        service.bump(ContentVersionService.Area.BLOG);
+
+        assertNotEquals(before, service.current(ContentVersionService.Area.BLOG).etag(ContentVersionService.Area.BLOG, "list"));
+    }
+
+    @Test
+    void sameDataGivesTheSameValidatorOnEveryNode() {
+        when(blogPostRepository.findMaxUpdatedAt()).thenReturn(LocalDateTime.of(2026, 1, 1, 12, 0));
+        when(blogPostRepository.count()).thenReturn(3L);
+        ContentVersionService otherNode = new ContentVersionService(mock(BookRepository.class),
+                blogPostRepository, blogCategoryRepository, mock(BookCommentRepository.class));
+
+        assertEquals(service.current(ContentVersionService.Area.BLOG).version(),
+                otherNode.current(ContentVersionService.Area.BLOG).version());
+    }
+}
@@ -0,0 +1,74 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainAndEmptyFields() throws IOException {
+        CsvReader csv = reader("a,,c\n");
+
+        assertEquals(List.of("a", "", "c"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() throws IOException {
+        CsvReader csv = reader("\"Eça, José\",\"O \"\"Crime\"\"\",\"\"\n");
+
+        assertEquals(List.of("Eça, José", "O \"Crime\"", ""), csv.next());
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        CsvReader csv = reader("title,description\n\"Livro\",\"linha 1\nlinha 2\"\nOutro,x\n");
+
+        csv.next();
+        assertEquals(List.of("Livro", "linha 1\nlinha 2"), csv.next());
+        assertEquals(2, csv.getRecordLine());
+        assertEquals(List.of("Outro", "x"), csv.next());
+        assertEquals(4, csv.getRecordLine());
+    }
+
+    @Test
+    void acceptsCrlfAndSkipsBlankLines() throws IOException {
+        CsvReader csv = reader("a,b\r\n\r\nc,d\r\ne,f");
+
+        assertEquals(List.of("a", "b"), csv.next());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertEquals(3, csv.getRecordLine());
+        assertEquals(List.of("e", "f"), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unterminatedQuoteIsAnError() throws IOException {
+        CsvReader csv = reader("a,b\nc,\"never closed\nd,e\n");
+
+        csv.next();
+        IOException error = assertThrows(IOException.class, csv::next);
+        assertTrue(error.getMessage().contains("linha 2"), error.getMessage());
+    }
+
+    @Test
+    void fieldsLongerThanTheCapAreRejected() throws IOException {
+        CsvReader csv = reader("\"" + "x".repeat(64 * 1024) + "\"\n");
+        assertEquals(64 * 1024, csv.next().get(0).length());
+
+        CsvReader tooLong = reader("\"" + "x".repeat(64 * 1024 + 1) + "\"\n");
+        assertThrows(IOException.class, tooLong::next);
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new StringReader(content));
+    }
+}
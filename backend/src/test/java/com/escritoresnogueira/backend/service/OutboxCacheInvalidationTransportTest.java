@@ -0,0 +1,92 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Outbox polling against the real SQL on an in-memory database
+ */
+class OutboxCacheInvalidationTransportTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxCacheInvalidationTransport transportA;
+    private OutboxCacheInvalidationTransport transportB;
+    private CacheInvalidationBus nodeA;
+    private final List<String> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"));
+        jdbcTemplate.execute("CREATE SEQUENCE default_sequence");
+        jdbcTemplate.execute("CREATE TABLE cache_invalidations (id BIGINT PRIMARY KEY, topic VARCHAR(32) NOT NULL, "
+                + "cache_key VARCHAR(255) NOT NULL, origin VARCHAR(64) NOT NULL, created_at TIMESTAMP NOT NULL)");
+
+        transportA = new OutboxCacheInvalidationTransport(jdbcTemplate, 30_000, 3_600_000);
+        transportB = new OutboxCacheInvalidationTransport(jdbcTemplate, 30_000, 3_600_000);
+        nodeA = new CacheInvalidationBus(transportA, new SimpleMeterRegistry());
+        CacheInvalidationBus nodeB = new CacheInvalidationBus(transportB, new SimpleMeterRegistry());
+        for (CacheInvalidationBus.Topic topic : CacheInvalidationBus.Topic.values()) {
+            nodeA.subscribe(topic, key -> {
+                throw new AssertionError("Origin node received its own event: " + topic + " " + key);
+            });
+            nodeB.subscribe(topic, key -> receivedByB.add(topic + " " + key));
+        }
+        // First poll only sets the watermark
+        transportA.poll();
+        transportB.poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void eventsReachTheOtherNodeOnItsNextPoll() {
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "42");
+        nodeA.publish(CacheInvalidationBus.Topic.BLOG, CacheInvalidationBus.ALL);
+        nodeA.publish(CacheInvalidationBus.Topic.SESSION, "abc");
+
+        transportA.poll();
+        transportB.poll();
+
+        assertEquals(List.of("BOOK 42", "BLOG *", "SESSION abc"), receivedByB);
+    }
+
+    @Test
+    void rowsReadAgainInTheOverlapWindowAreDeliveredOnce() {
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "42");
+        transportB.poll();
+        transportB.poll();
+        transportB.poll();
+
+        assertEquals(List.of("BOOK 42"), receivedByB);
+    }
+
+    @Test
+    void rowCommittedLateBehindTheWatermarkIsStillDelivered() {
+        nodeA.publish(CacheInvalidationBus.Topic.BOOK, "1");
+        transportB.poll();
+
+        // A transaction that started earlier commits after the newer row was read
+        jdbcTemplate.update("INSERT INTO cache_invalidations (id, topic, cache_key, origin, created_at) "
+                + "VALUES (nextval('default_sequence'), 'BOOK', '2', ?, ?)",
+                nodeA.getNodeId(), Timestamp.valueOf(LocalDateTime.now().minusSeconds(5)));
+        transportB.poll();
+        transportB.poll();
+
+        assertEquals(List.of("BOOK 1", "BOOK 2"), receivedByB);
+    }
+}
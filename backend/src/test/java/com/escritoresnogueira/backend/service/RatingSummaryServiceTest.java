@@ -0,0 +1,150 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import main.java.com.escritoresnogueira.backend.dto.RatingSummaryDTO;
+import main.java.com.escritoresnogueira.backend.model.BookRatingSummary;
+import main.java.com.escritoresnogueira.backend.repository.BookRatingSummaryRepository;
+import main.java.com.escritoresnogueira.backend.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rating aggregates against the real SQL on an in-memory database.
+ * H2 has neither ON CONFLICT nor UPDATE ... RETURNING, so the JdbcTemplate
+ * below runs those two statements in their H2 form.
+ */
+class RatingSummaryServiceTest {
+
+    private static final long BOOK_ID = 7L;
+
+    private JdbcTemplate jdbcTemplate;
+    private RatingSummaryService ratingSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:ratings;DB_CLOSE_DELAY=-1")) {
+            @Override
+            public int update(String sql, Object... args) {
+                // Only run after the existence check, so nothing conflicts
+                return super.update(sql.replace(" ON CONFLICT (book_id) DO NOTHING", ""), args);
+            }
+
+            @Override
+            public Map<String, Object> queryForMap(String sql, Object... args) {
+                int returning = sql.indexOf(" RETURNING ");
+                if (returning < 0) return super.queryForMap(sql, args);
+                super.update(sql.substring(0, returning), args);
+                return super.queryForMap("SELECT " + sql.substring(returning + " RETURNING ".length())
+                        + " FROM book_rating_summary WHERE book_id = ?", args[args.length - 1]);
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, rating DOUBLE PRECISION, "
+                + "review_count INT, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE book_comments (id BIGINT AUTO_INCREMENT PRIMARY KEY, book_id BIGINT NOT NULL, "
+                + "rating INT NOT NULL, status VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE book_rating_summary (book_id BIGINT PRIMARY KEY, "
+                + "rating_count BIGINT NOT NULL, rating_sum BIGINT NOT NULL, stars_1 BIGINT NOT NULL, "
+                + "stars_2 BIGINT NOT NULL, stars_3 BIGINT NOT NULL, stars_4 BIGINT NOT NULL, stars_5 BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO books (id) VALUES (?)", BOOK_ID);
+
+        BookRatingSummaryRepository summaries = mock(BookRatingSummaryRepository.class);
+        when(summaries.findById(anyLong())).thenAnswer(invocation -> storedSummary(invocation.getArgument(0)));
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+        ratingSummaryService = new RatingSummaryService(jdbcTemplate, summaries, bookRepository,
+                mock(BookCatalogService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void bookWithoutCommentsHasAnEmptySummaryAndNothingIsStored() {
+        RatingSummaryDTO summary = ratingSummaryService.getSummary(BOOK_ID);
+
+        assertEquals(BOOK_ID, summary.getBookId());
+        assertEquals(0, summary.getCount());
+        assertEquals(0.0, summary.getAverage());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 0L, 4, 0L, 5, 0L), summary.getHistogram());
+        assertEquals(0, summaryRows());
+    }
+
+    @Test
+    void summaryOfAnUnseededBookCountsApprovedCommentsOnly() {
+        comment(5, "approved");
+        comment(3, "approved");
+        comment(1, "pending");
+
+        RatingSummaryDTO summary = ratingSummaryService.getSummary(BOOK_ID);
+
+        assertEquals(2, summary.getCount());
+        assertEquals(4.0, summary.getAverage());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 0L, 5, 1L), summary.getHistogram());
+        assertEquals(0, summaryRows());
+    }
+
+    @Test
+    void firstRatingOfABookWithoutCommentsSeedsZerosThenCountsIt() {
+        ratingSummaryService.applyChange(BOOK_ID, 2, 1);
+
+        RatingSummaryDTO summary = ratingSummaryService.getSummary(BOOK_ID);
+        assertEquals(1, summary.getCount());
+        assertEquals(2.0, summary.getAverage());
+        assertEquals(Map.of(1, 0L, 2, 1L, 3, 0L, 4, 0L, 5, 0L), summary.getHistogram());
+        assertEquals(Map.of("RATING", 2.0, "REVIEW_COUNT", 1), bookColumns());
+    }
+
+    @Test
+    void firstModerationSeedsFromEarlierApprovedCommentsThenAppliesTheChange() {
+        comment(5, "approved");
+        comment(3, "approved");
+
+        ratingSummaryService.applyChange(BOOK_ID, 4, 1);
+        ratingSummaryService.applyChange(BOOK_ID, 5, -1);
+
+        RatingSummaryDTO summary = ratingSummaryService.getSummary(BOOK_ID);
+        assertEquals(2, summary.getCount());
+        assertEquals(3.5, summary.getAverage());
+        assertEquals(Map.of(1, 0L, 2, 0L, 3, 1L, 4, 1L, 5, 0L), summary.getHistogram());
+        assertEquals(Map.of("RATING", 3.5, "REVIEW_COUNT", 2), bookColumns());
+    }
+
+    private Optional<BookRatingSummary> storedSummary(Long bookId) {
+        return jdbcTemplate.query("SELECT * FROM book_rating_summary WHERE book_id = ?", (rs, rowNum) ->
+                BookRatingSummary.builder()
+                        .bookId(rs.getLong("book_id"))
+                        .ratingCount(rs.getLong("rating_count"))
+                        .ratingSum(rs.getLong("rating_sum"))
+                        .stars1(rs.getLong("stars_1"))
+                        .stars2(rs.getLong("stars_2"))
+                        .stars3(rs.getLong("stars_3"))
+                        .stars4(rs.getLong("stars_4"))
+                        .stars5(rs.getLong("stars_5"))
+                        .build(), bookId).stream().findFirst();
+    }
+
+    private int summaryRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_rating_summary", Integer.class);
+    }
+
+    private Map<String, Object> bookColumns() {
+        return jdbcTemplate.queryForMap("SELECT rating, review_count FROM books WHERE id = ?", BOOK_ID);
+    }
+
+    private void comment(int rating, String status) {
+        jdbcTemplate.update("INSERT INTO book_comments (book_id, rating, status) VALUES (?, ?, ?)",
+                BOOK_ID, rating, status);
+    }
+}
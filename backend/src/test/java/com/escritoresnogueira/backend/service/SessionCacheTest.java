@@ -0,0 +1,104 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import main.java.com.escritoresnogueira.backend.service.UserSessionService.SessionPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+class SessionCacheTest {
+
+    private static final SessionPrincipal PRINCIPAL = principal(1L, "uid-1", LocalDateTime.now().plusHours(1));
+
+    @Test
+    void cachesALoadedPrincipal() {
+        SessionCache cache = cache(10);
+
+        cache.put("key", PRINCIPAL, cache.generation());
+
+        assertSame(PRINCIPAL, cache.get("key"));
+    }
+
+    @Test
+    void loadThatOverlapsAnEvictionIsNotCached() {
+        SessionCache cache = cache(10);
+        long loadedAt = cache.generation();
+
+        cache.evict("key"); // logout committed while the row was being read
+        cache.put("key", PRINCIPAL, loadedAt);
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void loadThatOverlapsAUserEvictionIsNotCached() {
+        SessionCache cache = cache(10);
+        long loadedAt = cache.generation();
+
+        cache.evictWhere(principal -> "uid-1".equals(principal.firebaseUid()));
+        cache.put("key", PRINCIPAL, loadedAt);
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void evictWhereOnlyDropsMatchingSessions() {
+        SessionCache cache = cache(10);
+        cache.put("a", PRINCIPAL, cache.generation());
+        cache.put("b", principal(2L, "uid-2", LocalDateTime.now().plusHours(1)), cache.generation());
+
+        cache.evictWhere(principal -> "uid-1".equals(principal.firebaseUid()));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    void entryIsNotServedPastTheSessionExpiry() throws InterruptedException {
+        SessionCache cache = cache(10);
+        cache.put("expiring", principal(1L, "uid-1", LocalDateTime.now().plusNanos(200_000_000)), cache.generation());
+        cache.put("expired", principal(1L, "uid-1", LocalDateTime.now().minusSeconds(1)), cache.generation());
+
+        assertNotNull(cache.get("expiring"));
+        assertNull(cache.get("expired"));
+        Thread.sleep(300);
+        assertNull(cache.get("expiring"));
+    }
+
+    @Test
+    void trimKeepsTheMostRecentlyReadEntries() {
+        SessionCache cache = cache(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("k" + i, PRINCIPAL, cache.generation());
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.get("k" + i);
+        }
+
+        cache.put("k10", PRINCIPAL, cache.generation());
+
+        // Over the bound: trimmed to 90% by dropping the two least recently read (k5, k6)
+        assertEquals(9, cache.size());
+        assertNull(cache.get("k5"));
+        assertNull(cache.get("k6"));
+        for (String kept : new String[]{"k0", "k1", "k2", "k3", "k4", "k7", "k8", "k9", "k10"}) {
+            assertNotNull(cache.get(kept), kept);
+        }
+    }
+
+    private static SessionCache cache(int maxEntries) {
+        return new SessionCache(mock(CacheInvalidationBus.class), new SimpleMeterRegistry(), 60, maxEntries);
+    }
+
+    private static SessionPrincipal principal(Long userId, String firebaseUid, LocalDateTime expiresAt) {
+        return new SessionPrincipal(userId * 10, userId, "user" + userId + "@example.com", firebaseUid,
+                "User " + userId, null, Set.of("ROLE_USER"), expiresAt);
+    }
+}
@@ -0,0 +1,141 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import main.java.com.escritoresnogueira.backend.exception.InsufficientStockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reservations against the real decrement/resync SQL on an in-memory database
+ */
+class StockReservationServiceTest {
+
+    private static final long HOLD_TTL_MS = 900_000;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    // Run after the sweeper's resync query has read its rows, before they are applied
+    private Runnable afterResyncRead = () -> {};
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                afterResyncRead.run();
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, stock INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO books (id, stock) VALUES (1, 5), (2, 1)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void reservationHoldsEveryLineOrNone() {
+        StockReservationService service = service(HOLD_TTL_MS);
+
+        assertThrows(InsufficientStockException.class, () -> service.reserve(Map.of(1L, 3, 2L, 2)));
+        assertEquals(5, service.getAvailable(1L));
+        assertEquals(1, service.getAvailable(2L));
+
+        service.reserve(Map.of(1L, 3, 2L, 1));
+        assertEquals(2, service.getAvailable(1L));
+        assertEquals(0, service.getAvailable(2L));
+    }
+
+    @Test
+    void confirmationDecrementsTheDatabaseOnce() {
+        StockReservationService service = service(HOLD_TTL_MS);
+        StockReservationService.Reservation reservation = service.reserve(Map.of(1L, 2));
+
+        service.confirm(reservation.id());
+        service.sweepExpired();
+
+        assertEquals(3, stock(1L));
+        assertEquals(3, service.getAvailable(1L));
+    }
+
+    @Test
+    void lineSoldElsewhereRollsBackTheWholeConfirmation() {
+        StockReservationService service = service(HOLD_TTL_MS);
+        StockReservationService.Reservation reservation = service.reserve(Map.of(1L, 2, 2L, 1));
+        jdbcTemplate.update("UPDATE books SET stock = 0 WHERE id = 2"); // sold by another node
+
+        assertThrows(InsufficientStockException.class, () -> service.confirm(reservation.id()));
+
+        assertEquals(5, stock(1L));
+        assertEquals(0, stock(2L));
+        assertEquals(5, service.getAvailable(1L));
+        assertEquals(0, service.getAvailable(2L));
+    }
+
+    @Test
+    void sweeperReleasesExpiredHolds() {
+        StockReservationService service = service(-1);
+        StockReservationService.Reservation reservation = service.reserve(Map.of(1L, 4));
+        assertEquals(1, service.getAvailable(1L));
+
+        service.sweepExpired();
+
+        assertEquals(5, service.getAvailable(1L));
+        assertThrows(IllegalArgumentException.class, () -> service.confirm(reservation.id()));
+        assertEquals(5, stock(1L));
+    }
+
+    @Test
+    void sweeperPicksUpSalesFromOtherNodes() {
+        StockReservationService service = service(HOLD_TTL_MS);
+        service.reserve(Map.of(1L, 1));
+        jdbcTemplate.update("UPDATE books SET stock = 3 WHERE id = 1");
+
+        service.sweepExpired();
+
+        assertEquals(2, service.getAvailable(1L));
+    }
+
+    @Test
+    void resyncReadBeforeAConfirmationDoesNotEraseTheSale() {
+        StockReservationService service = service(HOLD_TTL_MS);
+        StockReservationService.Reservation reservation = service.reserve(Map.of(1L, 2));
+        afterResyncRead = () -> {
+            afterResyncRead = () -> {};
+            service.confirm(reservation.id());
+        };
+
+        service.sweepExpired(); // read 5, then the sale commits before the read is applied
+
+        assertEquals(3, stock(1L));
+        assertEquals(3, service.getAvailable(1L));
+    }
+
+    private StockReservationService service(long holdTtlMs) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        return new StockReservationService(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(), holdTtlMs);
+    }
+
+    private int stock(long bookId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM books WHERE id = ?", Integer.class, bookId);
+    }
+}
@@ -0,0 +1,121 @@
+package main.java.com.escritoresnogueira.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import main.java.com.escritoresnogueira.backend.model.User;
+import main.java.com.escritoresnogueira.backend.model.UserSession;
+import main.java.com.escritoresnogueira.backend.repository.UserRepository;
+import main.java.com.escritoresnogueira.backend.repository.UserSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Session cache evictions of the session mutations
+ */
+class UserSessionServiceTest {
+
+    private static final String TOKEN = "token-1";
+
+    private final UserSessionRepository sessionRepository = mock(UserSessionRepository.class);
+    private SessionCache sessionCache;
+    private UserSessionService service;
+    private UserSession session;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        sessionCache = new SessionCache(mock(CacheInvalidationBus.class), new SimpleMeterRegistry(), 60, 100);
+        service = new UserSessionService(sessionRepository, mock(UserRepository.class),
+                mock(CacheInvalidationBus.class), sessionCache, mock(SessionAccessTracker.class));
+
+        User user = User.builder().email("user@example.com").build();
+        user.setId(1L);
+        session = UserSession.builder()
+                .sessionToken(TOKEN)
+                .user(user)
+                .firebaseUid("uid-1")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        session.setId(10L);
+        key = UserSessionService.tokenKey(TOKEN);
+
+        when(sessionRepository.findBySessionTokenAndActiveTrueWithUser(TOKEN)).thenReturn(Optional.of(session));
+        when(sessionRepository.findBySessionTokenAndActiveTrue(TOKEN)).thenReturn(Optional.of(session));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void validationIsServedFromTheCache() {
+        assertTrue(service.validateSession(TOKEN).isPresent());
+        assertTrue(service.validateSession(TOKEN).isPresent());
+
+        verify(sessionRepository, times(1)).findBySessionTokenAndActiveTrueWithUser(TOKEN);
+    }
+
+    @Test
+    void sessionRevokedDuringItsLoadIsNotCached() {
+        when(sessionRepository.findBySessionTokenAndActiveTrueWithUser(TOKEN)).thenAnswer(invocation -> {
+            sessionCache.evict(key); // logout committed after this read started
+            return Optional.of(session);
+        });
+
+        service.validateSession(TOKEN);
+
+        assertNull(sessionCache.get(key));
+    }
+
+    @Test
+    void logoutEvictsOnlyAfterCommit() {
+        assertEvictedAfterCommit(() -> service.invalidateSession(TOKEN));
+    }
+
+    @Test
+    void logoutEverywhereEvictsOnlyAfterCommit() {
+        assertEvictedAfterCommit(() -> service.invalidateAllUserSessions("uid-1"));
+    }
+
+    @Test
+    void accountDeletionEvictsOnlyAfterCommit() {
+        assertEvictedAfterCommit(() -> service.deleteAllUserSessions(1L, "uid-1"));
+    }
+
+    @Test
+    void extensionEvictsOnlyAfterCommit() {
+        assertEvictedAfterCommit(() -> service.extendSession(TOKEN, 24));
+    }
+
+    /**
+     * The cached session stays until commit (a miss before it would reload the
+     * old row and cache it again), and is gone once the transaction commits
+     */
+    private void assertEvictedAfterCommit(Runnable mutation) {
+        service.validateSession(TOKEN);
+        assertNotNull(sessionCache.get(key));
+
+        TransactionSynchronizationManager.initSynchronization();
+        mutation.run();
+        assertNotNull(sessionCache.get(key));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(sessionCache.get(key));
+    }
+}
@@ -76,6 +76,21 @@ const api = {
         return this.request('/books/featured');
     },
 
+    /**
+     * Search the catalog on the server (filtered, sorted and paginated)
+     * @param {Object} params - { q, category, promo, featured, language, minPrice, maxPrice, sort, page, size }
+     * @returns {Promise<Object>} - { data, page, size, totalElements, totalPages }
+     */
+    async searchBooks(params = {}) {
+        const query = new URLSearchParams();
+        Object.entries(params).forEach(([key, value]) => {
+            if (value !== undefined && value !== null && value !== '') {
+                query.append(key, value);
+            }
+        });
+        return this.request(`/books/search?${query.toString()}`);
+    },
+
     /**
      * Get a single book by slug
      * @param {string} slug - Book slug
@@ -94,6 +109,27 @@ const api = {
         return this.request(`/books/${id}`);
     },
 
+    /**
+     * Get books related to a book (precomputed on the server)
+     * @param {number} id - Book ID
+     * @param {number} limit - Max number of books
+     * @returns {Promise<Array>} - List of related books
+     */
+    async getRelatedBooks(id, limit = 6) {
+        return this.request(`/books/${id}/related?limit=${limit}`);
+    },
+
+    /**
+     * URL of a resized cover/blog image (external URLs are returned unchanged)
+     * @param {string} url - Image path as stored on the book or post
+     * @param {number} width - 160, 320, 480, 640, 960 or 1280
+     * @returns {string|null} - Image URL
+     */
+    imageUrl(url, width) {
+        if (!url || /^(https?:|data:|blob:|\/\/)/i.test(url)) return url || null;
+        return `${API_CONFIG.baseUrl}/images/${width}/${url.replace(/^\/+/, '')}`;
+    },
+
     // ==================
     // BLOG ENDPOINTS
     // ==================
@@ -127,6 +163,15 @@ const api = {
     // BOOK COMMENTS ENDPOINTS
     // ==================
 
+    /**
+     * Get the rating summary of a book (average and 1-5 star distribution)
+     * @param {number} bookId - Book ID
+     * @returns {Promise<Object>} - { bookId, count, average, histogram }
+     */
+    async getRatingSummary(bookId) {
+        return this.request(`/books/${bookId}/rating-summary`);
+    },
+
     /**
      * Get approved comments for a book
      * @param {number} bookId - Book ID
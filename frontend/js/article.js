@@ -33,14 +33,17 @@ async function loadArticleFromAPI(articleId) {
             throw new Error('Nenhum artigo encontrado');
         }
 
-        // Find the specific article by ID
-        currentArticle = allBlogPosts.find(post => post.id === articleId);
+        // Find the specific article by ID (list entries are summaries without the content)
+        const summary = allBlogPosts.find(post => post.id === articleId);
 
-        if (!currentArticle) {
+        if (!summary) {
             showArticleNotFoundError();
             return;
         }
 
+        // Full article, including the content
+        currentArticle = await api.getBlogPostBySlug(summary.slug);
+
         displayArticle();
         loadRelatedArticles();
 
@@ -29,7 +29,7 @@ async function loadBlogPosts() {
         blogPostsGrid.innerHTML = posts.map(post => `
             <div class="blog-card" onclick="window.location.href='artigo.html?id=${post.id}'">
                 <div class="blog-image">
-                    ${post.image ? `<img src="${post.image}" alt="${post.title}">` : '<i class="fas fa-newspaper"></i>'}
+                    ${post.image ? renderThumbnail(post.image, post.title, 640) : '<i class="fas fa-newspaper"></i>'}
                 </div>
                 <div class="blog-content">
                     <div class="blog-meta">
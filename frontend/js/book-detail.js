@@ -9,7 +9,7 @@ console.log('📜 Pathname:', window.location.pathname);
 console.log('📜 Search:', window.location.search);
 
 let currentBook = null;
-let allBooksCache = []; // Cache for related books
+let allBooksCache = []; // Static data cache for related books (API fallback)
 let quantity = 1;
 
 // Initialize book detail page
@@ -318,30 +318,18 @@ async function loadRelatedBooks() {
     if (!relatedBooksContainer || !currentBook) return;
     
     try {
-        // Fetch all books if not cached
-        if (allBooksCache.length === 0) {
-            const booksFromApi = await api.getBooks();
-            allBooksCache = transformBooks(booksFromApi);
-        }
-        
-        // Get books from the same category, excluding current book
-        const relatedBooks = allBooksCache
-            .filter(book => 
-                (book.category === currentBook.category || book.categorySlug === currentBook.categorySlug) && 
-                book.id !== currentBook.id
-            )
-            .slice(0, 6);
-        
-        if (relatedBooks.length === 0) {
-            // If no books in same category, show random books
-            const otherBooks = allBooksCache
-                .filter(book => book.id !== currentBook.id)
+        // Static data mode: compute locally from the cached books
+        if (allBooksCache.length > 0) {
+            const relatedBooks = allBooksCache
+                .filter(book => book.category === currentBook.category && book.id !== currentBook.id)
                 .slice(0, 6);
-            
-            displayRelatedBooks(otherBooks, relatedBooksContainer);
-        } else {
             displayRelatedBooks(relatedBooks, relatedBooksContainer);
+            return;
         }
+        
+        // Precomputed on the server (category, author, genres, co-purchases)
+        const booksFromApi = await api.getRelatedBooks(currentBook.id, 6);
+        displayRelatedBooks(transformBooks(booksFromApi), relatedBooksContainer);
     } catch (error) {
         console.error('Error loading related books:', error);
         // Fallback to static data
@@ -2,19 +2,24 @@
 // BOOKS.JS - Books catalog page functionality
 // ==================================
 
-let allBooks = []; // All books from API
-let currentBooks = [];
+let currentBooks = []; // Books loaded so far for the current query
 let currentView = 'grid';
 let isLoading = false;
 
+// Current server-side query (filtering, sorting and paging happen in the backend)
+const PAGE_SIZE = 24;
+let currentQuery = { category: '', promo: '', sort: 'title' };
+let currentPage = 0;
+let totalPages = 0;
+
 // Initialize books page
 async function initBooksPage() {
-    await loadBooks();
-    attachFilters();
     applyURLFilters();
+    attachFilters();
+    await loadBooks();
 }
 
-// Load books from API
+// Load the first page of books for the current query
 async function loadBooks() {
     const booksGrid = document.getElementById('booksGrid');
     if (!booksGrid) return;
@@ -25,11 +30,13 @@ async function loadBooks() {
     
     try {
         // Fetch books from API only - no fallback to static data
-        const booksFromApi = await api.getBooks();
-        allBooks = transformBooks(booksFromApi);
-        currentBooks = [...allBooks];
+        const result = await api.searchBooks({ ...currentQuery, page: 0, size: PAGE_SIZE });
+        currentBooks = transformBooks(result.data || []);
+        currentPage = result.page || 0;
+        totalPages = result.totalPages || 0;
         
         displayBooks(currentBooks);
+        updateLoadMoreButton();
     } catch (error) {
         console.error('Error loading books:', error);
         // Show error message - NO fallback to static data
@@ -45,6 +52,45 @@ async function loadBooks() {
     }
 }
 
+// Load the next page and append it to the grid
+async function loadMoreBooks() {
+    if (isLoading || currentPage + 1 >= totalPages) return;
+    
+    isLoading = true;
+    try {
+        const result = await api.searchBooks({ ...currentQuery, page: currentPage + 1, size: PAGE_SIZE });
+        currentBooks = currentBooks.concat(transformBooks(result.data || []));
+        currentPage = result.page;
+        totalPages = result.totalPages;
+        
+        displayBooks(currentBooks);
+    } catch (error) {
+        console.error('Error loading more books:', error);
+    } finally {
+        isLoading = false;
+        updateLoadMoreButton();
+    }
+}
+
+// Show the "load more" button only while there are pages left
+function updateLoadMoreButton() {
+    const booksGrid = document.getElementById('booksGrid');
+    if (!booksGrid) return;
+    
+    let loadMore = document.getElementById('booksLoadMore');
+    if (!loadMore) {
+        loadMore = document.createElement('div');
+        loadMore.id = 'booksLoadMore';
+        loadMore.style.textAlign = 'center';
+        loadMore.style.marginTop = '40px';
+        loadMore.innerHTML = '<button class="btn btn-primary">Carregar mais</button>';
+        loadMore.querySelector('button').addEventListener('click', loadMoreBooks);
+        booksGrid.parentNode.insertBefore(loadMore, booksGrid.nextSibling);
+    }
+    
+    loadMore.style.display = currentPage + 1 < totalPages ? 'block' : 'none';
+}
+
 // Show loading skeleton
 function showLoadingSkeleton(container) {
     const skeletonCards = Array(8).fill('').map(() => `
@@ -91,7 +137,7 @@ function displayBooks(books) {
         return `
         <div class="book-card" data-href="${bookUrl}" data-book-id="${book.id}" data-aos="fade-up">
             <div class="book-image">
-                ${imageUrl ? `<img src="${imageUrl}" alt="${book.title}">` : '<i class="fas fa-book"></i>'}
+                ${imageUrl ? renderThumbnail(imageUrl, book.title) : '<i class="fas fa-book"></i>'}
                 ${isPromo ? '<div class="book-badge">Promoção</div>' : ''}
             </div>
             <div class="book-info">
@@ -181,48 +227,16 @@ function attachFilters() {
     });
 }
 
-// Filter books by category
+// Filter books by category (server-side)
 function filterBooks(category) {
-    if (category === '' || category === 'all') {
-        currentBooks = [...allBooks];
-    } else {
-        currentBooks = allBooks.filter(book => 
-            book.category?.toLowerCase() === category.toLowerCase() ||
-            book.categorySlug === category
-        );
-    }
-    
-    // Apply current sort
-    const sortFilter = document.getElementById('sortFilter');
-    if (sortFilter) {
-        sortBooks(sortFilter.value);
-    } else {
-        displayBooks(currentBooks);
-    }
+    currentQuery.category = category === 'all' ? '' : category;
+    loadBooks();
 }
 
-// Sort books
+// Sort books (server-side)
 function sortBooks(sortBy) {
-    let sorted = [...currentBooks];
-    
-    switch(sortBy) {
-        case 'title':
-            sorted.sort((a, b) => a.title.localeCompare(b.title));
-            break;
-        case 'title-desc':
-            sorted.sort((a, b) => b.title.localeCompare(a.title));
-            break;
-        case 'price':
-            sorted.sort((a, b) => a.price - b.price);
-            break;
-        case 'price-desc':
-            sorted.sort((a, b) => b.price - a.price);
-            break;
-        default:
-            sorted = [...currentBooks];
-    }
-    
-    displayBooks(sorted);
+    currentQuery.sort = sortBy;
+    loadBooks();
 }
 
 // Toggle view (grid/list)
@@ -239,23 +253,25 @@ function toggleView(view) {
     }
 }
 
-// Apply filters from URL parameters
+// Apply filters from URL parameters (before the first load)
 function applyURLFilters() {
     const urlParams = new URLSearchParams(window.location.search);
     const category = urlParams.get('category');
     const filter = urlParams.get('filter');
     
+    const categoryFilter = document.getElementById('categoryFilter');
     if (category) {
-        const categoryFilter = document.getElementById('categoryFilter');
-        if (categoryFilter) {
-            categoryFilter.value = category;
-            filterBooks(category);
-        }
+        currentQuery.category = category;
+        if (categoryFilter) categoryFilter.value = category;
     }
     
     if (filter === 'promo') {
-        currentBooks = allBooks.filter(book => book.promo);
-        displayBooks(currentBooks);
+        currentQuery.promo = true;
+    }
+    
+    const sortFilter = document.getElementById('sortFilter');
+    if (sortFilter && sortFilter.value) {
+        currentQuery.sort = sortFilter.value;
     }
 }
 
@@ -12,6 +12,7 @@
 const commentsModule = {
     currentBookId: null,
     comments: [],
+    ratingSummary: null,
 
     /**
      * Initialize comments for a book
@@ -53,6 +54,14 @@ const commentsModule = {
             console.error('❌ Erro ao carregar comentários:', error);
             this.comments = [];
         }
+        
+        // Average and distribution over all approved comments (not just the loaded page)
+        try {
+            this.ratingSummary = await api.getRatingSummary(this.currentBookId);
+        } catch (error) {
+            console.error('❌ Erro ao carregar resumo das avaliações:', error);
+            this.ratingSummary = null;
+        }
     },
 
     /**
@@ -206,6 +215,14 @@ const commentsModule = {
      * Calculate and display average rating and breakdown (only approved comments)
      */
     updateAverageRating() {
+        if (this.ratingSummary) {
+            const { count, average, histogram } = this.ratingSummary;
+            this.setAverageRating(count > 0 ? average.toFixed(1) : 0, count);
+            this.setRatingBreakdown(histogram || {}, count);
+            return;
+        }
+        
+        // Fallback: compute from the loaded comments
         if (this.comments.length === 0) {
             this.setAverageRating(0, 0);
             this.setRatingBreakdown({}, 0);
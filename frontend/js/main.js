@@ -401,17 +401,10 @@ async function loadFeaturedBooks() {
     `).join('');
 
     try {
-        // Fetch books from API - same approach as books.js
-        const booksFromApi = await api.getBooks();
-        console.log('📦 Resposta da API:', booksFromApi);
-        
-        const allBooks = transformBooks(booksFromApi);
-        console.log('📚 Livros transformados:', allBooks.length);
-        
-        // Filter featured books, or take first 8 if none are featured
-        let featuredBooks = allBooks.filter(b => b.featured).slice(0, 8);
+        // Fetch only the featured cards; fall back to the first 8 books if none are featured
+        let featuredBooks = transformBooks(await api.getFeaturedBooks()).slice(0, 8);
         if (featuredBooks.length === 0) {
-            featuredBooks = allBooks.slice(0, 8);
+            featuredBooks = transformBooks(await api.getBooks()).slice(0, 8);
         }
         
         console.log('⭐ Livros em destaque:', featuredBooks.length);
@@ -2,6 +2,19 @@
 // UTILS.JS - Reusable utility functions
 // ==================================
 
+/**
+ * Render a resized image, falling back to the original if the resized one fails
+ * @param {String} url - Image URL as stored on the book or post
+ * @param {String} alt - Alternative text
+ * @param {Number} width - Derivative width (see api.imageUrl)
+ * @returns {String} HTML img tag
+ */
+function renderThumbnail(url, alt, width = 480) {
+    const thumbnailUrl = api.imageUrl(url, width);
+    const fallback = thumbnailUrl !== url ? ` onerror="this.onerror=null;this.src='${url}'"` : '';
+    return `<img src="${thumbnailUrl}" alt="${alt}" loading="lazy"${fallback}>`;
+}
+
 /**
  * Render a book card template
  * @param {Object} book - Book object with id, title, author, price, etc.
@@ -30,7 +43,7 @@ function renderBookCard(book, options = {}) {
     return `
         <${wrapper} class="${wrapperClass}" data-href="${bookUrl}" data-book-id="${book.id}"${aosAttr}>
             <div class="book-image">
-                ${imageUrl ? `<img src="${imageUrl}" alt="${book.title}">` : '<i class="fas fa-book"></i>'}
+                ${imageUrl ? renderThumbnail(imageUrl, book.title) : '<i class="fas fa-book"></i>'}
                 ${isPromo ? '<div class="book-badge">Promoção</div>' : ''}
             </div>
             <div class="book-info">
@@ -79,7 +92,7 @@ function renderBlogCard(post, options = {}) {
     return `
         <div class="blog-card" onclick="${onClick}"${aosAttr}>
             <div class="blog-image">
-                ${post.image ? `<img src="${post.image}" alt="${post.title}">` : `<i class="fas fa-${imageIcon}"></i>`}
+                ${post.image ? renderThumbnail(post.image, post.title, 640) : `<i class="fas fa-${imageIcon}"></i>`}
             </div>
             <div class="blog-content">
                 <div class="blog-meta">